@@ -0,0 +1,42 @@
+package mw.maulidi.money_manager_springboot_starter_api.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.utils.JwtUtil;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+
+/**
+ * Shared objects for the benchmarks, built without a Spring context or database.
+ */
+final class BenchmarkFixtures {
+
+    static final String PASSWORD = "correct horse battery staple";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        return new JwtUtil("benchmark-only-jwt-signing-secret-0123456789", new SimpleMeterRegistry());
+    }
+
+    static ProfileEntity profile() {
+        return ProfileEntity.builder()
+                .Id(42L)
+                .email("bench@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuu6Xq0E0C1bq2Xw1y5H2y6rj6P5k1xj2e")
+                .fullName("Bench Mark")
+                .isActive(true)
+                .tokenVersion(0)
+                .build();
+    }
+
+    /** Stub repository: every profile is at token version 0. */
+    static ProfileRepository profileRepository() {
+        ProfileRepository repository = Mockito.mock(ProfileRepository.class);
+        Mockito.when(repository.findTokenVersionById(Mockito.anyLong())).thenReturn(Optional.of(0));
+        return repository;
+    }
+}
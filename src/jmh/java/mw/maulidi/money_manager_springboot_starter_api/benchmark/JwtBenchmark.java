@@ -0,0 +1,69 @@
+package mw.maulidi.money_manager_springboot_starter_api.benchmark;
+
+import io.jsonwebtoken.Claims;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.security.ProfileUserDetails;
+import mw.maulidi.money_manager_springboot_starter_api.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtUtil: token creation, single parse/verify, and the old
+ * "extractUsername + validateToken" sequence that verified the HMAC three times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private ProfileEntity profile;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        profile = BenchmarkFixtures.profile();
+        userDetails = new ProfileUserDetails(profile.getId(), profile.getEmail(), profile.getPassword(), true, Collections.emptyList());
+        token = jwtUtil.generateToken(profile);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(profile);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+
+    /** What JWTRequestFilter used to do per request: extractUsername, then validateToken (extract + expiry). */
+    @Benchmark
+    public boolean tripleParseBaseline() {
+        String username = jwtUtil.parseClaims(token).getSubject();
+        boolean subjectMatches = jwtUtil.parseClaims(token).getSubject().equals(username);
+        return subjectMatches && jwtUtil.parseClaims(token).getExpiration().getTime() > System.currentTimeMillis();
+    }
+}
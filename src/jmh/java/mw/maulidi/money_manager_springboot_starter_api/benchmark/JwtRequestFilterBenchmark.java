@@ -0,0 +1,76 @@
+package mw.maulidi.money_manager_springboot_starter_api.benchmark;
+
+import jakarta.servlet.FilterChain;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.security.JWTRequestFilter;
+import mw.maulidi.money_manager_springboot_starter_api.security.ProfileUserDetails;
+import mw.maulidi.money_manager_springboot_starter_api.security.TokenVersionRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWTRequestFilter end to end (header parsing, token verification, principal resolution,
+ * SecurityContext population) with a stub UserDetailsService, so no database is involved.
+ * Compares the default mode against the stateless mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JWTRequestFilter filter;
+    private String authorizationHeader;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        ProfileEntity profile = BenchmarkFixtures.profile();
+
+        UserDetailsService stubUserDetailsService = email ->
+                new ProfileUserDetails(profile.getId(), email, profile.getPassword(), true, Collections.emptyList());
+        TokenVersionRegistry tokenVersionRegistry =
+                new TokenVersionRegistry(BenchmarkFixtures.profileRepository(), 1_000, Duration.ofHours(1));
+
+        filter = new JWTRequestFilter(stubUserDetailsService, jwtUtil, tokenVersionRegistry);
+        ReflectionTestUtils.setField(filter, "statelessAuth", stateless);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(profile);
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/categories");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package mw.maulidi.money_manager_springboot_starter_api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread pool (Tomcat's default of 200 workers) against virtual threads, for a burst of
+ * requests that mostly wait on I/O, like our MySQL and SMTP calls.
+ *
+ * - "blocking": the wait happens outside any lock, so virtual threads unmount while they wait
+ * - "synchronized": the wait happens inside a synchronized block (as in parts of the mail and
+ *   JDBC drivers), which pins the virtual thread to its carrier on Java 21
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final long IO_MILLIS = 10;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"blocking", "synchronized"})
+    public String workload;
+
+    @Param({"2000"})
+    public int requests;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** Time until every request of the burst has completed. */
+    @Benchmark
+    public int burst() throws Exception {
+        boolean pinned = "synchronized".equals(workload);
+        List<Future<Integer>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            futures.add(executor.submit(() -> pinned ? synchronizedIo(new Object(), request) : io(request)));
+        }
+        int sum = 0;
+        for (Future<Integer> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+
+    private static int io(int request) throws InterruptedException {
+        Thread.sleep(IO_MILLIS);
+        return request;
+    }
+
+    private static int synchronizedIo(Object lock, int request) throws InterruptedException {
+        synchronized (lock) {
+            Thread.sleep(IO_MILLIS);
+            return request;
+        }
+    }
+}
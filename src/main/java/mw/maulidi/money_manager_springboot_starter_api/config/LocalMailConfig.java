@@ -0,0 +1,57 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Local/test mail setup (run with --spring.profiles.active=local).
+ * -------------------------------------------------------
+ * Replaces SMTP with a fake JavaMailSender that only logs the messages,
+ * so the email outbox can be exercised end to end without a mail relay.
+ */
+@Slf4j
+@Configuration
+@Profile("local")
+public class LocalMailConfig {
+
+    @Bean
+    public JavaMailSender javaMailSender() {
+        return new LoggingJavaMailSender();
+    }
+
+    /**
+     * Builds real MimeMessages but never opens a connection.
+     */
+    static class LoggingJavaMailSender extends JavaMailSenderImpl {
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            for (MimeMessage message : mimeMessages) {
+                try {
+                    log.info("[fake mail] to={} subject={}", String.join(",", toStrings(message)), message.getSubject());
+                } catch (MessagingException e) {
+                    log.warn("[fake mail] could not read message: {}", e.getMessage());
+                }
+            }
+        }
+
+        private static String[] toStrings(MimeMessage message) throws MessagingException {
+            var recipients = message.getAllRecipients();
+            if (recipients == null) {
+                return new String[0];
+            }
+            String[] result = new String[recipients.length];
+            for (int i = 0; i < recipients.length; i++) {
+                result[i] = recipients[i].toString();
+            }
+            return result;
+        }
+    }
+}
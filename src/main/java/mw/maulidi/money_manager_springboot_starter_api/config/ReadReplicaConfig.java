@@ -0,0 +1,78 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary/replica datasource routing, enabled by configuring at least one app.datasource.replicas entry.
+ * -------------------------------------------------------
+ * - primaryDataSource: the usual spring.datasource.* / spring.datasource.hikari.* pool
+ * - replica pools: read-only Hikari pools owned by the {@link ReplicaRoutingDataSource}
+ * - dataSource (@Primary): a LazyConnectionDataSourceProxy over the router, used by JPA and Flyway
+ *
+ * Without replicas this class is skipped and Spring Boot's single datasource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaDataSourceProperties replicaProperties,
+                                                             MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        List<ReplicaDataSourceProperties.Replica> replicas = replicaProperties.replicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = replicas.get(i);
+            String name = replica.name() != null ? replica.name() : "replica-" + (i + 1);
+
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(replica.maximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(2000); // fail over to the primary quickly instead of queueing on a dead replica
+            pool.setInitializationFailTimeout(-1); // a replica that is down at boot must not stop the application
+            pools.put(name, pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, replicaProperties, meterRegistry);
+    }
+
+    /**
+     * The lazy proxy only fetches a physical connection on the first statement, by which time the
+     * transaction's read-only flag is set and the router can pick the right target.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
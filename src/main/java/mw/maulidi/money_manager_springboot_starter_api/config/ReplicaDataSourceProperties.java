@@ -0,0 +1,30 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas (app.datasource.*). The primary stays on spring.datasource.*.
+ *
+ * @param replicas             replica connections; routing is only enabled when at least one is configured
+ * @param readYourWritesWindow after a user's write, that user's reads stay on the primary this long
+ *                             (extended automatically when the measured replica lag is higher)
+ * @param maxLag               replicas lagging more than this are taken out of rotation
+ * @param lagQuery             optional query returning the replica's lag in seconds (null = don't measure)
+ */
+@ConfigurationProperties("app.datasource")
+public record ReplicaDataSourceProperties(List<Replica> replicas,
+                                          @DefaultValue("5s") Duration readYourWritesWindow,
+                                          @DefaultValue("30s") Duration maxLag,
+                                          String lagQuery) {
+
+    public record Replica(String name,
+                          String url,
+                          String username,
+                          String password,
+                          @DefaultValue("10") int maximumPoolSize) {
+    }
+}
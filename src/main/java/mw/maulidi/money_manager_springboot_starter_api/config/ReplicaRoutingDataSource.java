@@ -0,0 +1,227 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * -------------------------------------------------------
+ * - @Transactional(readOnly = true) picks a replica round-robin; any other transaction uses the primary
+ * - Replicas are health-checked on a schedule (connection validity, optionally lag) and skipped while down;
+ *   with no healthy replica, reads fall back to the primary
+ * - Read your own writes: after a user's read-write transaction commits, that user's reads stay on the
+ *   primary for readYourWritesWindow (or the measured lag, if higher). The window is node-local.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy, so the route is chosen once the transaction's
+ * read-only flag is known (see ReadReplicaConfig).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Duration readYourWritesWindow;
+    private final Duration maxLag;
+    private final String lagQuery;
+
+    /** profile id -> time of its last committed write (epoch millis) */
+    private final Cache<Long, Long> recentWriters;
+
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, HikariDataSource> replicaPools,
+                                    ReplicaDataSourceProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = replicaPools.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.readYourWritesWindow = properties.readYourWritesWindow();
+        this.maxLag = properties.maxLag();
+        this.lagQuery = properties.lagQuery();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow.plus(maxLag))
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>(replicaPools);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.primaryReads = Counter.builder("db.route.reads").tag("target", PRIMARY).register(meterRegistry);
+        this.replicaReads = Counter.builder("db.route.reads").tag("target", "replica").register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas(); // know which replicas are usable before the first request
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return PRIMARY;
+        }
+
+        Long profileId = currentProfileId();
+        if (profileId != null && wroteRecently(profileId)) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replica.name;
+    }
+
+    private Replica nextHealthyReplica() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the write once the transaction commits (replica lag counts from the commit).
+     * Reads outside a transaction also land here, but only an actual read-write transaction counts.
+     */
+    private void rememberWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Long profileId = currentProfileId();
+        if (profileId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(profileId, System.currentTimeMillis());
+                }
+            });
+        } else {
+            recentWriters.put(profileId, System.currentTimeMillis());
+        }
+    }
+
+    private boolean wroteRecently(Long profileId) {
+        Long writtenAt = recentWriters.getIfPresent(profileId);
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < effectiveWindow().toMillis();
+    }
+
+    /** The configured window, stretched to the worst lag currently measured on a healthy replica. */
+    private Duration effectiveWindow() {
+        long worstLag = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                worstLag = Math.max(worstLag, replica.lagSeconds);
+            }
+        }
+        Duration lag = Duration.ofSeconds(worstLag);
+        return lag.compareTo(readYourWritesWindow) > 0 ? lag : readYourWritesWindow;
+    }
+
+    private static Long currentProfileId() {
+        return CurrentProfile.profileIdOf(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Health check: a replica is usable when a connection validates and, if a lag query is configured,
+     * its lag is within maxLag.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            long lagSeconds = 0;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(2);
+                if (healthy && lagQuery != null && !lagQuery.isBlank()) {
+                    lagSeconds = queryLag(connection);
+                    healthy = lagSeconds <= maxLag.toSeconds();
+                }
+            } catch (Exception e) {
+                healthy = false;
+            }
+
+            replica.lagSeconds = lagSeconds;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation (lag {}s)", replica.name, lagSeconds);
+                } else {
+                    log.warn("Replica {} taken out of rotation (lag {}s)", replica.name, lagSeconds);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private long queryLag(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // NULL lag means replication is not running: treat it as infinitely behind
+            return resultSet.next() && resultSet.getObject(1) != null ? resultSet.getLong(1) : Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile long lagSeconds;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. the email outbox dispatcher)
+ * and @Async methods (e.g. budget alerts), which run on the application task executor.
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
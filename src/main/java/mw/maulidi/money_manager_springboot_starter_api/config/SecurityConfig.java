@@ -1,8 +1,15 @@
 package mw.maulidi.money_manager_springboot_starter_api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.security.BoundedPasswordEncoder;
+import mw.maulidi.money_manager_springboot_starter_api.security.IdempotencyFilter;
 import mw.maulidi.money_manager_springboot_starter_api.security.JWTRequestFilter;
+import mw.maulidi.money_manager_springboot_starter_api.security.RateLimitFilter;
+import mw.maulidi.money_manager_springboot_starter_api.security.RateLimitProperties;
 import mw.maulidi.money_manager_springboot_starter_api.service.AppUserDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,10 +23,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,22 +40,31 @@ import java.util.List;
  */
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     public final AppUserDetailsService appUserDetailsService;
     public final JWTRequestFilter  jwtRequestFilter;
+    public final RateLimitFilter rateLimitFilter;
+    public final IdempotencyFilter idempotencyFilter;
 
     /**
      * Configures the main Spring Security filter chain.
      *
      * - Enables CORS (allows cross-origin API access)
      * - Disables CSRF (since we’re building a stateless REST API)
-     * - Permits unauthenticated access to public endpoints
+     * - Permits unauthenticated access to public endpoints and the health probes
+     * - Permits the actuator (metrics, Prometheus) only on the separate management port;
+     *   on the application port it needs authentication like everything else
      * - Requires authentication for all other requests
      * - Disables HTTP sessions (stateless = every request must be authenticated)
+     * - Rate-limits every request per profile or client IP (see RateLimitFilter)
+     * - Replays stored responses for retried POSTs carrying an Idempotency-Key (see IdempotencyFilter)
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${management.server.port:-1}") int managementPort,
+                                                   @Value("${server.port:8080}") int serverPort) throws Exception {
         http
                 .cors(Customizer.withDefaults()) // Enable CORS with default configuration
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF protection for REST APIs
@@ -55,28 +73,50 @@ public class SecurityConfig {
                                 "/status",
                                 "/",
                                 "/health",
+                                "/livez",
+                                "/readyz", // liveness/readiness probes for the load balancer
                                 "/api/v1/profiles/register",
                                 "/api/v1/profiles/activate",
                                 "/api/v1/profiles/login"
                         ).permitAll() // Publicly accessible endpoints
+                        .requestMatchers(onManagementPort(managementPort, serverPort)).permitAll() // actuator, internal port only
                         .anyRequest().authenticated() // All other endpoints require authentication
                 )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS) // here No sessions — JWT or token-based
                 )
-                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                // after the JWT filter, so authenticated clients are limited per profile rather than per IP
+                .addFilterAfter(rateLimitFilter, JWTRequestFilter.class)
+                // retries still count against the rate limit, but replay without touching the controllers
+                .addFilterAfter(idempotencyFilter, RateLimitFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Matches requests received on the management port, when it is separate from the application port.
+     * Only actuator endpoints are served there, and that port is not exposed outside the cluster.
+     */
+    private static RequestMatcher onManagementPort(int managementPort, int serverPort) {
+        return request -> managementPort > 0 && managementPort != serverPort && request.getLocalPort() == managementPort;
+    }
+
     /**
      * Defines the password encoder to use across the application.
      *
      * BCrypt is a strong one-way hashing algorithm ideal for storing passwords securely.
+     * Hashing runs on a bounded pool (one thread per core by default) so login/register
+     * bursts cannot tie up every request thread; see {@link BoundedPasswordEncoder}.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength,
+                                           @Value("${app.security.bcrypt.threads:0}") int threads,
+                                           @Value("${app.security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                           @Value("${app.security.bcrypt.max-wait:2s}") Duration maxWait,
+                                           MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, maxWait, meterRegistry);
     }
 
     /**
@@ -93,7 +133,8 @@ public class SecurityConfig {
 
         configuration.setAllowedOriginPatterns(List.of("*")); // Allow all origins
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS")); // Common HTTP methods
-        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "Accept")); // Allowed headers
+        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type", "Accept", "If-None-Match", "Idempotency-Key")); // Allowed headers
+        configuration.setExposedHeaders(List.of("ETag", "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset", "Retry-After", "Idempotent-Replayed")); // Let browsers read the ETag, rate-limit and replay headers
         configuration.setAllowCredentials(true); // Allow sending cookies/auth tokens
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -103,10 +144,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationManager  authenticationManagerBean() throws Exception {
+    public AuthenticationManager  authenticationManagerBean(PasswordEncoder passwordEncoder) throws Exception {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(appUserDetailsService);
-        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        // re-hashes on successful login when the stored hash is weaker than the configured strength
+        daoAuthenticationProvider.setUserDetailsPasswordService(appUserDetailsService);
         return new ProviderManager(Arrays.asList(daoAuthenticationProvider));
     }
 }
@@ -0,0 +1,50 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Extra wiring for virtual-thread mode (spring.threads.virtual.enabled=true).
+ * -------------------------------------------------------
+ * Spring Boot itself moves Tomcat request handling, @Async/@Scheduled work and async MVC
+ * (streamed exports) onto virtual threads. Request threads are then no longer a natural limit
+ * on database concurrency, so the Hikari pool is put behind a {@link ConnectionLimitingDataSource}.
+ *
+ * Password hashing deliberately stays on its own platform-thread pool (BoundedPasswordEncoder):
+ * CPU-bound work on virtual threads would just occupy the carrier threads.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Wraps the Hikari pool once it is initialised. Permits default to the pool size.
+     * Static, as recommended for BeanPostProcessor beans, so it does not initialise this class early.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(Environment environment,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int permits = environment.getProperty("app.datasource.limiter.permits", Integer.class,
+                        hikari.getMaximumPoolSize());
+                Duration acquireTimeout = environment.getProperty("app.datasource.limiter.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(5));
+                return new ConnectionLimitingDataSource(hikari, permits, acquireTimeout, meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
+import mw.maulidi.money_manager_springboot_starter_api.dto.BootstrapDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.BootstrapService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/bootstrap")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    /**
+     * Profile, categories by type and the current month's totals in one response, for app start-up.
+     */
+    // principal + token version + profile (+ the category list on a cache miss)
+    // + summary rows (+ the base currency on a cache miss); worker-thread statements are counted too
+    @QueryBudget(6)
+    @GetMapping()
+    public ResponseEntity<BootstrapDTO> getBootstrap() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(bootstrapService.getBootstrap());
+    }
+}
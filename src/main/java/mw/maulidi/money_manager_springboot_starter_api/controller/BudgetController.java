@@ -0,0 +1,47 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
+import mw.maulidi.money_manager_springboot_starter_api.dto.BudgetDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.BudgetService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/budgets")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    /**
+     * Lists the user's budgets with this month's spending.
+     */
+    @QueryBudget(3)
+    @GetMapping()
+    public ResponseEntity<List<BudgetDTO>> getBudgets() {
+        return ResponseEntity.ok(budgetService.getBudgets());
+    }
+
+    /**
+     * Sets the monthly limit of an expense category, e.g. PUT /budgets/7 {"amount": 250.00}.
+     */
+    @PutMapping("/{categoryId}")
+    public ResponseEntity<BudgetDTO> setBudget(@PathVariable Long categoryId, @RequestBody BudgetDTO budgetDTO) {
+        return ResponseEntity.ok(budgetService.setBudget(categoryId, budgetDTO));
+    }
+
+    @DeleteMapping("/{categoryId}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long categoryId) {
+        budgetService.deleteBudget(categoryId);
+        return ResponseEntity.noContent().build();
+    }
+}
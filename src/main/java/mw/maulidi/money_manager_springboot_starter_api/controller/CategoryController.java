@@ -1,14 +1,23 @@
 package mw.maulidi.money_manager_springboot_starter_api.controller;
 
 import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
 import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
 import mw.maulidi.money_manager_springboot_starter_api.service.CategoryService;
+import mw.maulidi.money_manager_springboot_starter_api.service.CategoryService.CategoryListing;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,4 +31,37 @@ public class CategoryController {
         CategoryDTO savedCategory =  categoryService.saveCategory(categoryDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCategory);
     }
+
+    /**
+     * Lists the user's categories.
+     * Spring answers 304 Not Modified (no body) when If-None-Match matches the ETag.
+     */
+    // principal + token version (+ the list on a cache miss; re-checks run off the request thread)
+    @QueryBudget(3)
+    @GetMapping()
+    public ResponseEntity<List<CategoryDTO>> getCategories() {
+        return toResponse(categoryService.getCurrentUserCategories());
+    }
+
+    @QueryBudget(3)
+    @GetMapping("/{type}")
+    public ResponseEntity<List<CategoryDTO>> getCategoriesByType(@PathVariable String type) {
+        return toResponse(categoryService.getCurrentUserCategoriesByType(toType(type)));
+    }
+
+    private static ResponseEntity<List<CategoryDTO>> toResponse(CategoryListing listing) {
+        // no-cache: clients may store the list but must revalidate it with the ETag
+        return ResponseEntity.ok()
+                .eTag(listing.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(listing.categories());
+    }
+
+    private static CategoryType toType(String type) {
+        try {
+            return CategoryType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown category type: " + type);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
+import mw.maulidi.money_manager_springboot_starter_api.dto.DashboardDTO;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.service.MonthlySummaryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    private static final int MAX_MONTHS = 120;
+
+    private final MonthlySummaryService monthlySummaryService;
+    private final CurrentProfile currentProfile;
+
+    /**
+     * Monthly income/expense totals and per-category breakdown, e.g. /dashboard?from=2025-01&to=2025-12.
+     * Defaults to the last 12 months.
+     */
+    // principal + token version + summary rows (+ the base currency on a cache miss)
+    @QueryBudget(4)
+    @GetMapping()
+    public ResponseEntity<DashboardDTO> getDashboard(@RequestParam(required = false) YearMonth from,
+                                                     @RequestParam(required = false) YearMonth to) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        if (start.isAfter(end) || start.plusMonths(MAX_MONTHS).isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid month range");
+        }
+        return ResponseEntity.ok(monthlySummaryService.getDashboard(currentProfile.getId(), start, end));
+    }
+}
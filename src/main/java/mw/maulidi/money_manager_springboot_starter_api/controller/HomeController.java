@@ -1,15 +1,34 @@
 package mw.maulidi.money_manager_springboot_starter_api.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
+/**
+ * Legacy status endpoints, kept for existing clients.
+ * They now report the readiness health group (database) instead of a fixed string;
+ * load balancers should use the /livez and /readyz probes directly.
+ */
 @RestController
 @RequestMapping({"/status", "/health"})
+@RequiredArgsConstructor
 public class HomeController {
 
+    private final HealthEndpoint healthEndpoint;
+
     @GetMapping
-    public String healthCheck(){
-        return "Application is running";
+    public ResponseEntity<Map<String, String>> healthCheck(){
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Status status = readiness != null ? readiness.getStatus() : Status.UNKNOWN;
+        HttpStatus httpStatus = Status.UP.equals(status) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(Map.of("status", status.getCode()));
     }
 }
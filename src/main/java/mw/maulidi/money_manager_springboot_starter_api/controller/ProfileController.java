@@ -1,12 +1,15 @@
 package mw.maulidi.money_manager_springboot_starter_api.controller;
 
 import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
 import mw.maulidi.money_manager_springboot_starter_api.dto.AuthDTO;
 import mw.maulidi.money_manager_springboot_starter_api.dto.ProfileDTO;
 import mw.maulidi.money_manager_springboot_starter_api.service.ProfileService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Map;
 
@@ -33,19 +36,35 @@ public class ProfileController {
         }
     }
 
+    // one profile lookup, plus one update when the stored hash is re-encoded
+    @QueryBudget(2)
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody AuthDTO authDTO) {
         try {
-            // firstly let us check if the profile is activated or not
-            if (!profileService.isAccountActive(authDTO.getEmail())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Account Not Activated, Please activate Account first"));
-            }
-
-            // if activated then
+            // one profile lookup: inactive accounts are rejected by the authentication provider itself
             Map<String, Object> response = profileService.auntenticateUserAndGenerateToken(authDTO);
             return ResponseEntity.status(HttpStatus.OK).body(response);
+        } catch (DisabledException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", "Account Not Activated, Please activate Account first"));
+        } catch (ResponseStatusException e) {
+            throw e; // e.g. 503 when the password hashing pool is saturated
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
         }
     }
+
+    /**
+     * Changes the base currency totals and dashboards are shown in, e.g. {"baseCurrency": "MWK"}.
+     */
+    @PutMapping("/base-currency")
+    public ResponseEntity<Map<String, Object>> updateBaseCurrency(@RequestBody ProfileDTO profileDTO) {
+        String baseCurrency = profileService.updateBaseCurrency(profileDTO.getBaseCurrency());
+        return ResponseEntity.status(HttpStatus.OK).body(Map.of("baseCurrency", baseCurrency));
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Map<String, Object>> logoutAll() {
+        profileService.revokeAllTokens();
+        return ResponseEntity.status(HttpStatus.OK).body(Map.of("message", "All sessions have been signed out"));
+    }
 }
@@ -0,0 +1,44 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.RecurringRuleDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.RecurringRuleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Recurring incomes and expenses, e.g. POST /recurring {"categoryId": 3, "name": "Rent", "amount": 900,
+ * "frequency": "MONTHLY", "startDate": "2025-01-01"}.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/recurring")
+public class RecurringRuleController {
+
+    private final RecurringRuleService recurringRuleService;
+
+    @PostMapping()
+    public ResponseEntity<RecurringRuleDTO> createRule(@RequestBody RecurringRuleDTO ruleDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(recurringRuleService.createRule(ruleDTO));
+    }
+
+    @GetMapping()
+    public ResponseEntity<List<RecurringRuleDTO>> getRules() {
+        return ResponseEntity.ok(recurringRuleService.getRules());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deactivateRule(@PathVariable Long id) {
+        recurringRuleService.deactivateRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
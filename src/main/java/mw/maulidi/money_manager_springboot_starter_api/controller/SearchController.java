@@ -0,0 +1,31 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.SearchResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Searches the user's categories and transactions, best matches first, e.g. /search?q=groc.
+     */
+    @QueryBudget(3)
+    @GetMapping()
+    public ResponseEntity<KeysetPageDTO<SearchResultDTO>> search(@RequestParam("q") String query,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(searchService.search(query, cursor, size));
+    }
+}
@@ -0,0 +1,56 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.TransactionDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.service.TransactionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Income and expense endpoints.
+ * "/incomes" and "/expenses" share one ledger; the path decides the transaction type.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/{kind:incomes|expenses}")
+public class TransactionController {
+
+    private final TransactionService transactionService;
+
+    @PostMapping()
+    public ResponseEntity<TransactionDTO> addTransaction(@PathVariable String kind,
+                                                         @RequestBody TransactionDTO transactionDTO) {
+        TransactionDTO saved = transactionService.addTransaction(toType(kind), transactionDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
+    // principal + token version (both cache misses at worst) + one page query with its categories
+    @QueryBudget(3)
+    @GetMapping()
+    public ResponseEntity<KeysetPageDTO<TransactionDTO>> getTransactions(@PathVariable String kind,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(transactionService.getTransactions(toType(kind), cursor, size));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<TransactionDTO> updateTransaction(@PathVariable String kind,
+                                                            @PathVariable Long id,
+                                                            @RequestBody TransactionDTO transactionDTO) {
+        return ResponseEntity.ok(transactionService.updateTransaction(toType(kind), id, transactionDTO));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTransaction(@PathVariable String kind, @PathVariable Long id) {
+        transactionService.deleteTransaction(toType(kind), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static CategoryType toType(String kind) {
+        return "incomes".equals(kind) ? CategoryType.INCOME : CategoryType.EXPENSE;
+    }
+}
@@ -0,0 +1,69 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryBudget;
+import mw.maulidi.money_manager_springboot_starter_api.dto.ImportResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.TransactionExportService;
+import mw.maulidi.money_manager_springboot_starter_api.service.TransactionImportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Spreadsheet import and export of the user's incomes and expenses.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transactions")
+public class TransactionFileController {
+
+    private static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importTransactions(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(transactionImportService.importTransactions(file));
+    }
+
+    /**
+     * Streams the full history as CSV (default, fastest) or XLSX straight to the response.
+     */
+    // principal + token version + the streaming query (counted on the async thread)
+    @QueryBudget(3)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(defaultValue = "csv") String format) {
+        StreamingResponseBody body;
+        MediaType mediaType;
+        if ("csv".equalsIgnoreCase(format)) {
+            body = transactionExportService.exportCsv();
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else if ("xlsx".equalsIgnoreCase(format)) {
+            body = transactionExportService.exportXlsx();
+            mediaType = XLSX;
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format: " + format);
+        }
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions." + format.toLowerCase())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,40 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Per-session Hibernate listener adding the time spent executing JDBC statements and batches
+ * to the current request. Hibernate creates one instance per session (hibernate.session.events.auto).
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && startedAt != 0) {
+            stats.recordJdbcTime(System.nanoTime() - startedAt);
+        }
+        startedAt = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements an endpoint may issue per request, authentication included.
+ * Going over is logged and counted; with app.sql.budget.enforce=true (test mode) the request fails
+ * with {@link QueryBudgetExceededException}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+
+    int value();
+}
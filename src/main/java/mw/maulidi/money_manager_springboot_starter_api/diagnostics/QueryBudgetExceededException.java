@@ -0,0 +1,11 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+/**
+ * Thrown in enforce mode when an endpoint issues more statements than its {@link QueryBudget}.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
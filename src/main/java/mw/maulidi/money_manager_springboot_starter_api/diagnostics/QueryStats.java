@@ -0,0 +1,104 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of the HTTP request running on the current thread.
+ * -------------------------------------------------------
+ * Opened and closed by {@link QueryStatsFilter}; filled in by Hibernate through
+ * {@link CountingStatementInspector} (statement text) and {@link JdbcTimingListener} (JDBC time).
+ *
+ * Work a request hands to other threads is counted too: {@link QueryStatsExecutor} carries the stats
+ * into executor tasks and {@link QueryStatsCallableInterceptor} into async MVC (streamed exports).
+ * Several threads may record at once, so recording and reading are synchronized.
+ * Statements issued outside a request (scheduled jobs, @Async event listeners) are not tracked.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    /** Caps the per-request map, so a request issuing endless distinct statements cannot grow it unbounded */
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private final long startedNanos = System.nanoTime();
+    private int statements;
+    private long jdbcNanos;
+
+    private QueryStats() {
+    }
+
+    static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Makes the given request's stats current on this thread (a worker running part of the request).
+     *
+     * @return the stats previously current on this thread, to pass to {@link #restore(QueryStats)}
+     */
+    static QueryStats bind(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        CURRENT.set(stats);
+        return previous;
+    }
+
+    static void restore(QueryStats previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /** The stats of the current request, or null outside a request. */
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    synchronized void recordStatement(String sql) {
+        statements++;
+        if (statementCounts.size() < MAX_DISTINCT_STATEMENTS || statementCounts.containsKey(sql)) {
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    synchronized void recordJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public synchronized int statements() {
+        return statements;
+    }
+
+    public synchronized Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /** Time since the request started. */
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startedNanos);
+    }
+
+    /**
+     * Statements issued at least {@code threshold} times with identical text (same shape, different binds),
+     * most repeated first. Typically one lazy association loaded per row: an N+1.
+     */
+    public synchronized Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statementCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
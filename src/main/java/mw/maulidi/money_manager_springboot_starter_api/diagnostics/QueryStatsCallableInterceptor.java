@@ -0,0 +1,55 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the async part of a request (Callable / StreamingResponseBody, e.g. streamed exports).
+ * -------------------------------------------------------
+ * - Binds the request's {@link QueryStats} on the async thread while the task runs
+ * - Checks the {@link QueryBudget} when the task is done; in enforce mode the exception becomes the
+ *   request's result (the status can't change if the body was already streamed, but the error is raised)
+ * - Reports the request's totals once the async request completes
+ */
+class QueryStatsCallableInterceptor implements CallableProcessingInterceptor {
+
+    private final QueryStatsFilter filter;
+
+    QueryStatsCallableInterceptor(QueryStatsFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        QueryStats stats = statsOf(request);
+        if (stats != null) {
+            QueryStats.bind(stats);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryStats.finish();
+        QueryStats stats = statsOf(request);
+        if (stats != null) {
+            filter.checkBudget(request.getNativeRequest(HttpServletRequest.class), stats);
+        }
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+        QueryStats stats = statsOf(request);
+        if (stats != null) {
+            filter.report(request.getNativeRequest(HttpServletRequest.class),
+                    request.getNativeResponse(HttpServletResponse.class), stats);
+        }
+    }
+
+    private static QueryStats statsOf(NativeWebRequest request) {
+        return (QueryStats) request.getAttribute(QueryStatsFilter.STATS_ATTRIBUTE, NativeWebRequest.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,62 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Wires the per-request SQL diagnostics (app.sql.stats.enabled, on by default).
+ * Replaces spring.jpa.show-sql: nothing is printed per statement, only per-request summaries.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    /** Plugs the statement counter and JDBC timer into every Hibernate session. */
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, CountingStatementInspector.class.getName());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql.stats.chatty-threshold:20}") int chattyThreshold,
+            @Value("${app.sql.stats.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${app.sql.stats.repeat-threshold:5}") int repeatThreshold,
+            @Value("${app.sql.stats.sample-rate:1.0}") double sampleRate,
+            @Value("${app.sql.budget.enforce:false}") boolean enforceBudget) {
+        QueryStatsProperties properties = new QueryStatsProperties(
+                chattyThreshold, slowThreshold, repeatThreshold, sampleRate, enforceBudget);
+
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(meterRegistry, properties));
+        // outside the Spring Security chain, so statements issued during authentication are counted
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    /** Counts the async part of requests (streamed exports) against the request that started it. */
+    @Bean
+    public WebMvcConfigurer queryStatsAsyncSupport(FilterRegistrationBean<QueryStatsFilter> queryStatsFilter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new QueryStatsCallableInterceptor(queryStatsFilter.getFilter()));
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor decorator that runs each task with the submitting request's {@link QueryStats}, so statements
+ * a request offloads to worker threads still count towards its totals and its {@link QueryBudget}.
+ * Tasks submitted outside a request run unchanged.
+ */
+public final class QueryStatsExecutor implements Executor {
+
+    private final Executor delegate;
+
+    public QueryStatsExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) {
+            delegate.execute(task);
+            return;
+        }
+        delegate.execute(() -> {
+            QueryStats previous = QueryStats.bind(stats);
+            try {
+                task.run();
+            } finally {
+                QueryStats.restore(previous);
+            }
+        });
+    }
+}
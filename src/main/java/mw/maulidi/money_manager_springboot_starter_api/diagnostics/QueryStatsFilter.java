@@ -0,0 +1,140 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements and JDBC time of each HTTP request.
+ * -------------------------------------------------------
+ * - Publishes "http.server.requests.db.statements" and "http.server.requests.db.time" per route
+ * - Logs a one-line summary (sampled) for chatty, slow or N+1 requests
+ * - Counts "db.n_plus_one" when the same statement repeats repeatThreshold times in one request
+ * - Checks {@link QueryBudget} on the handler; enforce mode turns an overrun into an exception
+ *
+ * Registered ahead of Spring Security (see QueryStatsConfig), so principal lookups are counted too.
+ * For async requests (streamed exports) the report and budget check wait for the async part;
+ * {@link QueryStatsCallableInterceptor} runs them.
+ */
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final int LOGGED_SQL_LENGTH = 160;
+
+    /** Request attribute holding the request's {@link QueryStats}, for its async part */
+    static final String STATS_ATTRIBUTE = QueryStats.class.getName();
+
+    private final MeterRegistry meterRegistry;
+    private final QueryStatsProperties properties;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry, QueryStatsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        // set before the chain: an async task may start before this thread returns
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            QueryStats.finish();
+            if (!request.isAsyncStarted()) {
+                report(request, response, stats);
+            }
+        }
+        if (completed && !request.isAsyncStarted()) {
+            checkBudget(request, stats);
+        }
+    }
+
+    void report(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        Duration elapsed = stats.elapsed();
+        String uri = routeOf(request);
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.requests.db.time")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.jdbcTime());
+
+        Map<String, Integer> repeated = stats.repeated(properties.repeatThreshold());
+        if (!repeated.isEmpty()) {
+            Counter.builder("db.n_plus_one").tag("uri", uri).register(meterRegistry).increment();
+        }
+
+        boolean flagged = !repeated.isEmpty()
+                || stats.statements() >= properties.chattyThreshold()
+                || stats.jdbcTime().compareTo(properties.slowThreshold()) >= 0;
+        if (flagged && ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+            log.warn("sql-summary method={} uri={} status={} statements={} dbMs={} elapsedMs={} nPlusOne={}",
+                    request.getMethod(), uri, response.getStatus(), stats.statements(),
+                    stats.jdbcTime().toMillis(), elapsed.toMillis(), describe(repeated));
+        }
+    }
+
+    void checkBudget(HttpServletRequest request, QueryStats stats) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            budget = handler.getBeanType().getAnnotation(QueryBudget.class);
+        }
+        if (budget == null || stats.statements() <= budget.value()) {
+            return;
+        }
+
+        String uri = routeOf(request);
+        Counter.builder("db.query_budget.exceeded").tag("uri", uri).register(meterRegistry).increment();
+        String message = String.format("%s %s issued %d SQL statements, budget is %d",
+                request.getMethod(), uri, stats.statements(), budget.value());
+        if (properties.enforceBudget()) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn("Query budget exceeded: {}", message);
+    }
+
+    /** Route template (e.g. /{kind}/{id}) rather than the raw path, to keep metric tags bounded. */
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        if (repeated.isEmpty()) {
+            return "[]";
+        }
+        return repeated.entrySet().stream()
+                .map(entry -> entry.getValue() + "x " + abbreviate(entry.getKey()))
+                .collect(Collectors.joining(" | ", "[", "]"));
+    }
+
+    private static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ");
+        return singleLine.length() <= LOGGED_SQL_LENGTH ? singleLine : singleLine.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,19 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import java.time.Duration;
+
+/**
+ * Thresholds for {@link QueryStatsFilter}, read from app.sql.* in QueryStatsConfig.
+ *
+ * @param chattyThreshold statements per request above which the request is summarised
+ * @param slowThreshold   JDBC time per request above which the request is summarised
+ * @param repeatThreshold identical statements per request that count as an N+1
+ * @param sampleRate      share of flagged requests that are actually logged (0..1)
+ * @param enforceBudget   fail requests that exceed their {@link QueryBudget} (test mode)
+ */
+public record QueryStatsProperties(int chattyThreshold,
+                                   Duration slowThreshold,
+                                   int repeatThreshold,
+                                   double sampleRate,
+                                   boolean enforceBudget) {
+}
@@ -0,0 +1,20 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BootstrapDTO {
+    private ProfileDTO profile;
+    private Map<String, List<CategoryDTO>> categories; // keyed by category type (INCOME, EXPENSE)
+    private String currency; // currency of currentMonth, the profile's base currency
+    private DashboardDTO.MonthTotals currentMonth;
+}
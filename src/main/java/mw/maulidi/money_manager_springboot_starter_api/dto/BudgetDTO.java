@@ -0,0 +1,23 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BudgetDTO {
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal amount; // monthly limit
+    private BigDecimal spent; // this month so far
+    private String currency; // the profile's base currency
+    private Integer percentUsed;
+    private YearMonth month;
+}
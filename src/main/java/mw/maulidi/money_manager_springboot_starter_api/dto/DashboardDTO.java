@@ -0,0 +1,31 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardDTO {
+    private String currency; // every amount is converted into the profile's base currency
+    private List<MonthTotals> months;
+    private List<MonthlySummaryDTO> categories;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class MonthTotals {
+        private YearMonth month;
+        private BigDecimal totalIncome;
+        private BigDecimal totalExpense;
+        private BigDecimal balance;
+    }
+}
@@ -0,0 +1,18 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportResultDTO {
+    private int imported;
+    private int skipped;
+    private List<String> errors; // first errors only, one per skipped row
+}
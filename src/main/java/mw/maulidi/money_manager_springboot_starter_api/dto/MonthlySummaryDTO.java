@@ -0,0 +1,29 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MonthlySummaryDTO {
+    private YearMonth month;
+    private Long categoryId;
+    private String categoryName;
+    private String type;
+    private String currency;
+    private BigDecimal total;
+    private Long count;
+
+    /** Used by the dashboard query (period is stored as yyyyMM). */
+    public MonthlySummaryDTO(Integer periodMonth, Long categoryId, String categoryName, String type,
+                             String currency, BigDecimal total, Long count) {
+        this(YearMonth.of(periodMonth / 100, periodMonth % 100), categoryId, categoryName, type, currency, total, count);
+    }
+}
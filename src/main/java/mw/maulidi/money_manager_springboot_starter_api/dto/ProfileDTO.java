@@ -1,5 +1,6 @@
 package mw.maulidi.money_manager_springboot_starter_api.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +16,11 @@ public class ProfileDTO {
     private Long Id;
     private String fullName;
     private String email;
+    // accepted on registration, never serialized into responses
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String profileImageUrl;
+    private String baseCurrency;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
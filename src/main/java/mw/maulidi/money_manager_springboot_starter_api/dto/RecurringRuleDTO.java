@@ -0,0 +1,34 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurrenceFrequency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RecurringRuleDTO {
+    private Long id;
+    private Long categoryId;
+    private String name;
+    private String description;
+    private String icon;
+    private String type;
+    private BigDecimal amount;
+    private String currency; // defaults to the profile's base currency
+    private RecurrenceFrequency frequency;
+    private Integer interval; // every N periods, default 1
+    private LocalDate startDate; // default today
+    private LocalDate endDate;
+    private LocalDate nextRunDate;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchResultDTO {
+    private String kind; // "CATEGORY" or "TRANSACTION"
+    private Long id;
+    private String name;
+    private String description;
+    private String type;
+    private BigDecimal amount; // transactions only
+    private String currency; // transactions only
+    private LocalDate date; // transactions only
+    private Double score;
+}
@@ -0,0 +1,30 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransactionDTO {
+    private Long id;
+    private Long profileId;
+    private Long categoryId;
+    private String categoryName;
+    private String name;
+    private String description;
+    private String icon;
+    private String type;
+    private BigDecimal amount;
+    private String currency; // defaults to the profile's base currency
+    private LocalDate date;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
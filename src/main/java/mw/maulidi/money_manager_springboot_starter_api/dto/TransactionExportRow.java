@@ -0,0 +1,26 @@
+package mw.maulidi.money_manager_springboot_starter_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Flat projection used by exports. Built directly by the query (constructor expression),
+ * so rows never enter the persistence context and can be garbage collected as soon as they are written.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionExportRow {
+    private Long id;
+    private LocalDate date;
+    private String type;
+    private String categoryName;
+    private String name;
+    private String description;
+    private BigDecimal amount;
+    private String currency;
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Builder
 @Table(
         name = "tbl_categories",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"name", "profile_id"})
+        uniqueConstraints = @UniqueConstraint(name = "uk_categories_name_profile", columnNames = {"name", "profile_id"}),
+        indexes = @Index(name = "idx_categories_profile_type", columnList = "profile_id, type")
 )
 public class CategoryEntity {
 
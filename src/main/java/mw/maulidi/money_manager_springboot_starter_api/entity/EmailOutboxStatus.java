@@ -0,0 +1,7 @@
+package mw.maulidi.money_manager_springboot_starter_api.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
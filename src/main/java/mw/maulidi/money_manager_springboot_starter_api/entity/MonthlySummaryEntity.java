@@ -0,0 +1,56 @@
+package mw.maulidi.money_manager_springboot_starter_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-aggregated totals per (profile, month, category, type, currency).
+ * -------------------------------------------------------
+ * Maintained incrementally by MonthlySummaryService on every ledger insert, update and delete,
+ * so dashboards read O(months) rows instead of grouping the raw ledger.
+ * Keys are plain columns (no associations) so the table can be upserted with a single native statement.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(
+        name = "tbl_monthly_summary",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_summary_key",
+                columnNames = {"profile_id", "period_month", "category_id", "type", "currency"})
+)
+public class MonthlySummaryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    // yyyyMM, e.g. 202501 ("year_month" is a reserved word in MySQL)
+    @Column(name = "period_month", nullable = false)
+    private Integer periodMonth;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String type; // "INCOME" or "EXPENSE"
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+}
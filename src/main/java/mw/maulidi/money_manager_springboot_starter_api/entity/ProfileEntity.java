@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "tbl_profile")
+@Table(
+        name = "tbl_profile",
+        indexes = @Index(name = "idx_profile_active_created", columnList = "is_active, created_at")
+)
 @Builder
 public class ProfileEntity {
     @Id
@@ -31,11 +34,17 @@ public class ProfileEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     private Boolean isActive;
-    private String activationToken;
+    // bumped to revoke every JWT issued before the change (see TokenVersionRegistry)
+    private Integer tokenVersion;
+    // ISO 4217 code; totals and dashboards are converted into it
+    @Column(length = 3, nullable = false)
+    private String baseCurrency;
 
     @PrePersist
     public void prePersist(){
         if (this.isActive == null)
             isActive = false;
+        if (this.tokenVersion == null)
+            tokenVersion = 0;
     }
 }
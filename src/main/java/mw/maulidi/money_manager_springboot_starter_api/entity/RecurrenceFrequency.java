@@ -0,0 +1,25 @@
+package mw.maulidi.money_manager_springboot_starter_api.entity;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS),
+    YEARLY(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Date of the n-th occurrence (0-based), always counted from the start date,
+     * so a rule starting on the 31st falls on the last day of shorter months and returns to the 31st after.
+     */
+    public LocalDate occurrence(LocalDate startDate, int n, int interval) {
+        return startDate.plus((long) n * interval, unit);
+    }
+}
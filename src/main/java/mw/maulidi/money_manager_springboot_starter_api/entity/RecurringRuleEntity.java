@@ -0,0 +1,88 @@
+package mw.maulidi.money_manager_springboot_starter_api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A recurring income or expense (salary, rent, subscriptions).
+ * RecurringTransactionScheduler posts each occurrence to the ledger on its date;
+ * nextRunDate is the date of occurrence number occurrenceCount, the first one not posted yet.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(
+        name = "tbl_recurring_rules",
+        indexes = {
+                @Index(name = "idx_recurring_rules_due", columnList = "active, next_run_date, id"),
+                @Index(name = "idx_recurring_rules_profile", columnList = "profile_id")
+        }
+)
+public class RecurringRuleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String description;
+
+    private String icon; // emoji or URL
+
+    @Column(nullable = false)
+    private String type; // "INCOME" or "EXPENSE", copied from the category
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    // every N days/weeks/months/years ("interval" is a reserved word in MySQL)
+    @Column(name = "interval_count", nullable = false)
+    private Integer intervalCount;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    private LocalDate endDate; // inclusive; null = no end
+
+    @Column(nullable = false)
+    private LocalDate nextRunDate;
+
+    @Column(nullable = false)
+    private Integer occurrenceCount;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,73 @@
+package mw.maulidi.money_manager_springboot_starter_api.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A single income or expense entry in a profile's ledger.
+ * The type is copied from the category at write time so listings never have to join to it.
+ * (profile_id, type, date, id) backs the keyset-paginated listings, which are always of one type,
+ * so an incomes page never has to skip over expense rows.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(
+        name = "tbl_transactions",
+        indexes = @Index(name = "idx_transactions_profile_type_date_id", columnList = "profile_id, type, date, id")
+)
+public class TransactionEntity {
+
+    // pooled sequence instead of IDENTITY: IDENTITY forces an insert per persist and disables JDBC batching
+    // (MySQL has no sequences, so Hibernate emulates this one with a single-row table)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "tbl_transactions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String description;
+
+    private String icon; // emoji or URL
+
+    @Column(nullable = false)
+    private String type; // "INCOME" or "EXPENSE"
+
+    // money is never stored as floating point
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    // ISO 4217 code of the amount
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private CategoryEntity category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "profile_id", nullable = false)
+    @JsonIgnore
+    private ProfileEntity profile;
+}
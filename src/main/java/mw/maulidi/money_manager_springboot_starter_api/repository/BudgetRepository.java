@@ -0,0 +1,64 @@
+package mw.maulidi.money_manager_springboot_starter_api.repository;
+
+import mw.maulidi.money_manager_springboot_starter_api.entity.BudgetEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<BudgetEntity, Long> {
+
+    // select * from tbl_budgets where profile_id = ?
+    List<BudgetEntity> findByProfileId(Long profileId);
+
+    // select * from tbl_budgets where profile_id = ?1 and category_id = ?2
+    Optional<BudgetEntity> findByProfileIdAndCategoryId(Long profileId, Long categoryId);
+
+    // delete from tbl_budgets where profile_id = ?1 and category_id = ?2
+    @Modifying
+    @Query("delete from BudgetEntity b where b.profileId = :profileId and b.categoryId = :categoryId")
+    int deleteByProfileIdAndCategoryId(@Param("profileId") Long profileId, @Param("categoryId") Long categoryId);
+
+    // every budget of the given profiles with the profile's base currency and the month's spending
+    // per currency from the rollup (null when nothing was spent)
+    @Query("select b.profileId as profileId, b.categoryId as categoryId, b.amount as amount, " +
+            "p.baseCurrency as baseCurrency, s.currency as currency, s.total as spent " +
+            "from BudgetEntity b join ProfileEntity p on p.id = b.profileId " +
+            "left join MonthlySummaryEntity s " +
+            "on s.profileId = b.profileId and s.categoryId = b.categoryId " +
+            "and s.periodMonth = :periodMonth and s.type = 'EXPENSE' " +
+            "where b.profileId in :profileIds")
+    List<BudgetSpend> findBudgetSpend(@Param("profileIds") Collection<Long> profileIds,
+                                      @Param("periodMonth") int periodMonth);
+
+    // records that an alert was sent; returns 0 if it already had been
+    @Modifying
+    @Query(value = "insert ignore into tbl_budget_alerts (profile_id, category_id, period_month, threshold_percent, created_at) " +
+            "values (:profileId, :categoryId, :periodMonth, :thresholdPercent, now(6))",
+            nativeQuery = true)
+    int recordAlert(@Param("profileId") Long profileId,
+                    @Param("categoryId") Long categoryId,
+                    @Param("periodMonth") int periodMonth,
+                    @Param("thresholdPercent") int thresholdPercent);
+
+    interface BudgetSpend {
+        Long getProfileId();
+
+        Long getCategoryId();
+
+        BigDecimal getAmount();
+
+        String getBaseCurrency();
+
+        String getCurrency();
+
+        BigDecimal getSpent();
+    }
+}
@@ -3,8 +3,11 @@ package mw.maulidi.money_manager_springboot_starter_api.repository;
 import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
 import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +25,16 @@ public interface CategoryRepository extends JpaRepository<CategoryEntity, Long>
 
     Boolean existsByNameAndProfile_Id(String name, Long profileId);
 
+    // select count(*), max(updated_at) from tbl_categories where profile_id = ?
+    // (a handful of rows per profile, found through idx_categories_profile_type)
+    @Query("select count(c) as count, max(c.updatedAt) as lastUpdated from CategoryEntity c where c.profile.id = :profileId")
+    CategoryVersion findVersionByProfileId(@Param("profileId") Long profileId);
+
+    /** Identifies the current state of a profile's categories; see CategoryService. */
+    interface CategoryVersion {
+        long getCount();
+
+        LocalDateTime getLastUpdated();
+    }
+
 }
@@ -0,0 +1,37 @@
+package mw.maulidi.money_manager_springboot_starter_api.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxEntity, Long> {
+
+    // select * from tbl_email_outbox where status = ?1 and next_attempt_at <= ?2 order by id limit ?3 for update skip locked
+    // (lock timeout -2 = SKIP LOCKED, so several nodes can drain the outbox without picking the same rows)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EmailOutboxEntity e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<EmailOutboxEntity> findDueForDispatch(@Param("status") EmailOutboxStatus status,
+                                               @Param("now") LocalDateTime now,
+                                               Limit limit);
+
+    // select id from tbl_email_outbox where status in (?1) and next_attempt_at < ?2 limit ?3 (idx_email_outbox_status_next_attempt)
+    // next_attempt_at of a SENT or DEAD row is the lease of its last attempt, so it stands in for the time it finished
+    @Query("select e.id from EmailOutboxEntity e where e.status in :statuses and e.nextAttemptAt < :cutoff")
+    List<Long> findFinishedBefore(@Param("statuses") Collection<EmailOutboxStatus> statuses,
+                                  @Param("cutoff") LocalDateTime cutoff,
+                                  Limit limit);
+}
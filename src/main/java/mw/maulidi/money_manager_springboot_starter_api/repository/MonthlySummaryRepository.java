@@ -0,0 +1,59 @@
+package mw.maulidi.money_manager_springboot_starter_api.repository;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.MonthlySummaryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.MonthlySummaryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummaryEntity, Long> {
+
+    // single-statement upsert: adds the delta to the row for the key, creating it if needed
+    @Modifying
+    @Query(value = "insert into tbl_monthly_summary (profile_id, period_month, category_id, type, currency, total, tx_count) " +
+            "values (:profileId, :periodMonth, :categoryId, :type, :currency, :amount, :count) " +
+            "on duplicate key update total = total + :amount, tx_count = tx_count + :count",
+            nativeQuery = true)
+    void addDelta(@Param("profileId") Long profileId,
+                  @Param("periodMonth") int periodMonth,
+                  @Param("categoryId") Long categoryId,
+                  @Param("type") String type,
+                  @Param("currency") String currency,
+                  @Param("amount") BigDecimal amount,
+                  @Param("count") long count);
+
+    // dashboard read: one row per (month, category, type, currency) in the range, category name joined in
+    @Query("select new mw.maulidi.money_manager_springboot_starter_api.dto.MonthlySummaryDTO(" +
+            "s.periodMonth, s.categoryId, c.name, s.type, s.currency, s.total, s.txCount) " +
+            "from MonthlySummaryEntity s, CategoryEntity c " +
+            "where c.id = s.categoryId and s.profileId = :profileId " +
+            "and s.periodMonth between :fromMonth and :toMonth and s.txCount > 0 " +
+            "order by s.periodMonth, s.type, c.name")
+    List<MonthlySummaryDTO> findForDashboard(@Param("profileId") Long profileId,
+                                             @Param("fromMonth") int fromMonth,
+                                             @Param("toMonth") int toMonth);
+
+    // delete from tbl_monthly_summary where profile_id = ?
+    @Modifying
+    @Query(value = "delete from tbl_monthly_summary where profile_id = :profileId", nativeQuery = true)
+    void deleteByProfileId(@Param("profileId") Long profileId);
+
+    // recomputes every row for a profile from the raw ledger (backfills / drift repair)
+    @Modifying
+    @Query(value = "insert into tbl_monthly_summary (profile_id, period_month, category_id, type, currency, total, tx_count) " +
+            "select profile_id, year(date) * 100 + month(date), category_id, type, currency, sum(amount), count(*) " +
+            "from tbl_transactions where profile_id = :profileId " +
+            "group by profile_id, year(date) * 100 + month(date), category_id, type, currency",
+            nativeQuery = true)
+    void rebuildFromLedger(@Param("profileId") Long profileId);
+
+    // profiles that have at least one ledger row
+    @Query("select distinct t.profile.id from TransactionEntity t")
+    List<Long> findProfileIdsWithTransactions();
+}
@@ -1,8 +1,15 @@
 package mw.maulidi.money_manager_springboot_starter_api.repository;
 
 import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository <ProfileEntity,Long> {
@@ -14,6 +21,52 @@ public interface ProfileRepository extends JpaRepository <ProfileEntity,Long> {
     // Jpa is going to execute a query select * from tbl_profile where email = ?1
     Optional<ProfileEntity>findByEmail(String email);
 
-    // select * from tbl_profile where activation_token = ?
-    Optional<ProfileEntity> findByActivationToken(String activationToken);
+    // update tbl_profile set is_active = true where id = ? (the id comes from a verified activation token)
+    @Modifying
+    @Query("update ProfileEntity p set p.isActive = true where p.id = :id")
+    int activateById(@Param("id") Long id);
+
+    // select base_currency from tbl_profile where id = ?
+    @Query("select p.baseCurrency from ProfileEntity p where p.id = :id")
+    Optional<String> findBaseCurrencyById(@Param("id") Long id);
+
+    // update tbl_profile set base_currency = ? where id = ?
+    @Modifying
+    @Query("update ProfileEntity p set p.baseCurrency = :currency where p.id = :id")
+    int updateBaseCurrency(@Param("id") Long id, @Param("currency") String currency);
+
+    // select email from tbl_profile where id = ?
+    @Query("select p.email from ProfileEntity p where p.id = :id")
+    Optional<String> findEmailById(@Param("id") Long id);
+
+    // oldest unactivated profiles whose activation link has expired, one chunk at a time (idx_profile_active_created)
+    @Query("select p.id as id, p.email as email from ProfileEntity p " +
+            "where p.isActive = false and p.createdAt < :cutoff order by p.createdAt")
+    List<StaleProfile> findStaleUnactivated(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // re-checks is_active so a profile activated since the chunk was read is kept
+    @Modifying
+    @Query("delete from ProfileEntity p where p.id in :ids and p.isActive = false")
+    int deleteUnactivatedByIds(@Param("ids") Collection<Long> ids);
+
+    // select coalesce(token_version, 0) from tbl_profile where id = ? (no full entity load)
+    @Query("select coalesce(p.tokenVersion, 0) from ProfileEntity p where p.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // update tbl_profile set token_version = token_version + 1 where id = ?
+    @Modifying
+    @Query("update ProfileEntity p set p.tokenVersion = coalesce(p.tokenVersion, 0) + 1 where p.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    // update tbl_profile set password = ? where id = ? (rehash on login after a strength change)
+    @Modifying
+    @Query("update ProfileEntity p set p.password = :password where p.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    /** Id and email of a profile selected for purging (the email is needed to evict the principal cache). */
+    interface StaleProfile {
+        Long getId();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,33 @@
+package mw.maulidi.money_manager_springboot_starter_api.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurringRuleEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringRuleRepository extends JpaRepository<RecurringRuleEntity, Long> {
+
+    // select * from tbl_recurring_rules where profile_id = ? order by id
+    List<RecurringRuleEntity> findByProfileIdOrderById(Long profileId);
+
+    // select * from tbl_recurring_rules where id = ?1 and profile_id = ?2
+    Optional<RecurringRuleEntity> findByIdAndProfileId(Long id, Long profileId);
+
+    // select * from tbl_recurring_rules where active = 1 and next_run_date <= ?1 order by next_run_date, id limit ?2 for update skip locked
+    // (lock timeout -2 = SKIP LOCKED, so several nodes can materialize at once without claiming the same rules)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select r from RecurringRuleEntity r where r.active = true and r.nextRunDate <= :today order by r.nextRunDate, r.id")
+    List<RecurringRuleEntity> findDueForMaterialization(@Param("today") LocalDate today, Limit limit);
+}
@@ -0,0 +1,56 @@
+package mw.maulidi.money_manager_springboot_starter_api.repository;
+
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ranked full-text search over a profile's categories and transactions (FULLTEXT indexes from V7).
+ */
+@org.springframework.stereotype.Repository
+public interface SearchRepository extends Repository<TransactionEntity, Long> {
+
+    // :query is a boolean-mode expression that must include the profile token, e.g. "+profile42 +groc*"
+    @Query(value = "select 'CATEGORY' as kind, c.id as id, c.name as name, c.description as description, " +
+            "c.type as type, null as amount, null as currency, null as date, " +
+            "match(c.search_text) against (:query in boolean mode) as score " +
+            "from tbl_categories c " +
+            "where match(c.search_text) against (:query in boolean mode) and c.profile_id = :profileId " +
+            "union all " +
+            "select 'TRANSACTION', t.id, t.name, t.description, t.type, t.amount, t.currency, t.date, " +
+            "match(t.search_text) against (:query in boolean mode) " +
+            "from tbl_transactions t " +
+            "where match(t.search_text) against (:query in boolean mode) and t.profile_id = :profileId " +
+            "order by score desc, date desc, id desc " +
+            "limit :limit offset :offset",
+            nativeQuery = true)
+    List<SearchHit> search(@Param("profileId") Long profileId,
+                           @Param("query") String query,
+                           @Param("limit") int limit,
+                           @Param("offset") int offset);
+
+    interface SearchHit {
+        String getKind();
+
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+
+        String getType();
+
+        BigDecimal getAmount();
+
+        String getCurrency();
+
+        LocalDate getDate();
+
+        Double getScore();
+    }
+}
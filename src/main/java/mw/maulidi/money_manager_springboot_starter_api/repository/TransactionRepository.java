@@ -0,0 +1,59 @@
+package mw.maulidi.money_manager_springboot_starter_api.repository;
+
+import jakarta.persistence.QueryHint;
+import mw.maulidi.money_manager_springboot_starter_api.dto.TransactionExportRow;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
+
+    // select * from tbl_transactions where id = ?1 and profile_id = ?2
+    Optional<TransactionEntity> findByIdAndProfile_Id(Long id, Long profileId);
+
+    // first page: select ... where profile_id = ?1 and type = ?2 order by date desc, id desc limit ?3
+    @Query("select t from TransactionEntity t join fetch t.category " +
+            "where t.profile.id = :profileId and t.type = :type " +
+            "order by t.date desc, t.id desc")
+    List<TransactionEntity> findFirstPage(@Param("profileId") Long profileId,
+                                          @Param("type") String type,
+                                          Limit limit);
+
+    // next pages seek past the last (date, id) seen, so the cost stays constant however deep the client pages
+    @Query("select t from TransactionEntity t join fetch t.category " +
+            "where t.profile.id = :profileId and t.type = :type " +
+            "and (t.date < :date or (t.date = :date and t.id < :id)) " +
+            "order by t.date desc, t.id desc")
+    List<TransactionEntity> findPageAfter(@Param("profileId") Long profileId,
+                                          @Param("type") String type,
+                                          @Param("date") LocalDate date,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    // forward-only stream of the full history for exports. A fetch size of Integer.MIN_VALUE makes
+    // MySQL Connector/J stream rows one by one instead of buffering the whole result set in the heap.
+    // Ordered by type first so idx_transactions_profile_type_date_id returns the rows already sorted:
+    // an order by date alone would filesort the whole history before the first row is streamed.
+    // Must be consumed inside a (read-only) transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new mw.maulidi.money_manager_springboot_starter_api.dto.TransactionExportRow(" +
+            "t.id, t.date, t.type, c.name, t.name, t.description, t.amount, t.currency) " +
+            "from TransactionEntity t join t.category c " +
+            "where t.profile.id = :profileId " +
+            "order by t.type, t.date, t.id")
+    Stream<TransactionExportRow> streamForExport(@Param("profileId") Long profileId);
+}
@@ -0,0 +1,86 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped holder for the authenticated profile.
+ * -------------------------------------------------------
+ * The profile id is taken from the principal set by JWTRequestFilter, so services
+ * can link new rows to the user through a lazy reference (no SELECT at all).
+ * The full entity is loaded at most once per request, and only when a caller
+ * actually needs its fields.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentProfile {
+
+    private final ProfileRepository profileRepository;
+
+    private Long profileId;
+    private ProfileEntity profile;
+
+    /**
+     * Returns the authenticated profile's id without touching the database
+     * (falls back to one lookup by email for principals that don't carry it).
+     */
+    public Long getId() {
+        if (profileId == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            profileId = profileIdOf(authentication);
+            if (profileId == null) {
+                profileId = get().getId();
+            }
+        }
+        return profileId;
+    }
+
+    /**
+     * Returns a lazy, reference-only proxy suitable for foreign keys (getReferenceById).
+     * No query is issued unless a non-id field is read.
+     */
+    public ProfileEntity getReference() {
+        if (profile != null) {
+            return profile;
+        }
+        return profileRepository.getReferenceById(getId());
+    }
+
+    /**
+     * Returns the fully loaded profile, querying the database once per request.
+     */
+    public ProfileEntity get() {
+        if (profile == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Long id = profileId != null ? profileId : profileIdOf(authentication);
+            profile = (id != null ? profileRepository.findById(id) : profileRepository.findByEmail(authentication.getName()))
+                    .orElseThrow(() -> new UsernameNotFoundException("Profile Not Found with email: " + authentication.getName()));
+            profileId = profile.getId();
+        }
+        return profile;
+    }
+
+    /**
+     * Extracts the profile id carried by the principal, or null if it doesn't carry one.
+     */
+    public static Long profileIdOf(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.profileId();
+        }
+        if (principal instanceof ProfileUserDetails userDetails) {
+            return userDetails.getProfileId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,328 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key support for POST requests.
+ * -------------------------------------------------------
+ * The first response for each (profile, key) is kept and replayed byte for byte when the client retries,
+ * so a retried register or create-category does no work at all (no BCrypt, no queries, no second email).
+ *
+ * - Anonymous requests (register) share one scope; the stored request fingerprint (SHA-256 of the body)
+ *   must match, so nobody can read another client's response by guessing its key
+ * - A duplicate arriving while the first is still running waits for it instead of re-executing
+ * - Only POSTs to app.idempotency.paths (register, create category by default) are handled; login is
+ *   never stored, as its response carries a JWT
+ * - 5xx responses, oversized bodies and errors raised through sendError (e.g. ResponseStatusException,
+ *   whose body is only rendered later by the error dispatch) are not stored, so those retries run again
+ * - The store is a Caffeine cache bounded by total bytes, with a TTL
+ * - Reusing a key with a different body gets 422; a wait that times out gets 409
+ *
+ * Multipart uploads are passed through untouched (their body is not fingerprinted).
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    private final List<PathPattern> paths;
+    private final Cache<String, CompletableFuture<StoredResponse>> store;
+    private final Duration waitTimeout;
+    private final int maxBodyBytes;
+    private final Counter replayedCounter;
+
+    public IdempotencyFilter(@Value("${app.idempotency.max-store-bytes:33554432}") long maxStoreBytes,
+                             @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                             @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes,
+                             @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                             @Value("${app.idempotency.paths:/categories,/api/v1/profiles/register}") String[] paths,
+                             MeterRegistry meterRegistry) {
+        this.paths = Arrays.stream(paths)
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.store = Caffeine.newBuilder()
+                .maximumWeight(maxStoreBytes)
+                .weigher((String key, CompletableFuture<StoredResponse> future) -> weightOf(future))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.waitTimeout = waitTimeout;
+        this.maxBodyBytes = maxBodyBytes;
+        this.replayedCounter = meterRegistry.counter("http.server.requests.idempotent_replays");
+        CaffeineCacheMetrics.monitor(meterRegistry, store, "idempotencyStore");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (!HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || (contentType != null && contentType.toLowerCase().startsWith("multipart/"))) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+            return;
+        }
+        Long profileId = CurrentProfile.profileIdOf(SecurityContextHolder.getContext().getAuthentication());
+        String key = (profileId != null ? "p" + profileId : "anon") + ':' + request.getRequestURI() + ':' + idempotencyKey;
+
+        DigestingRequest digestingRequest = new DigestingRequest(request);
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = store.asMap().putIfAbsent(key, mine);
+            if (first == null) {
+                execute(key, mine, digestingRequest, response, filterChain);
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored == null) {
+                continue; // the first attempt was not stored (5xx, error, too large): run this one for real
+            }
+
+            if (!stored.fingerprint().equals(digestingRequest.drainAndFingerprint())) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used with a different request body");
+                return;
+            }
+            replay(stored, response);
+            return;
+        }
+    }
+
+    /**
+     * Runs the request, captures the response and publishes it to any waiting duplicates.
+     */
+    private void execute(String key,
+                         CompletableFuture<StoredResponse> mine,
+                         DigestingRequest request,
+                         HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        CapturingResponse capturingResponse = new CapturingResponse(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, capturingResponse);
+            stored = capture(capturingResponse, request.drainAndFingerprint());
+            capturingResponse.copyBodyToResponse();
+        } finally {
+            if (stored != null) {
+                mine.complete(stored);
+                store.asMap().replace(key, mine, mine); // re-weigh now that the body size is known
+            } else {
+                store.asMap().remove(key, mine);
+                mine.complete(null);
+            }
+        }
+    }
+
+    private StoredResponse capture(CapturingResponse response, String fingerprint) {
+        byte[] body = response.getContentAsByteArray();
+        if (response.errorSent || response.getStatus() >= 500 || body.length > maxBodyBytes) {
+            return null;
+        }
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            for (String value : response.getHeaders(name)) {
+                headers.add(Map.entry(name, value));
+            }
+        }
+        return new StoredResponse(response.getStatus(), response.getContentType(), headers, body, fingerprint);
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        replayedCounter.increment();
+        response.setStatus(stored.status());
+        // headers this request already got from earlier filters (CORS, rate limit) are current; keep them
+        Set<String> alreadySet = new HashSet<>();
+        for (String name : response.getHeaderNames()) {
+            alreadySet.add(name.toLowerCase());
+        }
+        for (Map.Entry<String, String> header : stored.headers()) {
+            if (!alreadySet.contains(header.getKey().toLowerCase())) {
+                response.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    private static int weightOf(CompletableFuture<StoredResponse> future) {
+        StoredResponse stored = future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+        return ENTRY_OVERHEAD_BYTES + (stored != null ? stored.body().length : 0);
+    }
+
+    /**
+     * Notes sendError calls: the container renders those bodies in a later error dispatch,
+     * so what was captured here would replay as a bare status.
+     */
+    private static final class CapturingResponse extends ContentCachingResponseWrapper {
+
+        private boolean errorSent;
+
+        CapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void sendError(int statusCode) throws IOException {
+            errorSent = true;
+            super.sendError(statusCode);
+        }
+
+        @Override
+        public void sendError(int statusCode, String message) throws IOException {
+            errorSent = true;
+            super.sendError(statusCode, message);
+        }
+    }
+
+    /** A captured response; the fingerprint identifies the request body that produced it. */
+    private record StoredResponse(int status,
+                                  String contentType,
+                                  List<Map.Entry<String, String>> headers,
+                                  byte[] body,
+                                  String fingerprint) {
+    }
+
+    /**
+     * Hashes the request body as the application reads it, so fingerprinting needs no extra copy of the body.
+     */
+    private static final class DigestingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest;
+        private ServletInputStream stream;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                stream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b >= 0) {
+                            digest.update((byte) b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int read = delegate.read(buffer, offset, length);
+                        if (read > 0) {
+                            digest.update(buffer, offset, read);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        delegate.setReadListener(readListener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        /** Reads whatever the application left unread, then returns the body's SHA-256. */
+        String drainAndFingerprint() throws IOException {
+            ServletInputStream in = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer, 0, buffer.length) > 0) {
+                // only digesting
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package mw.maulidi.money_manager_springboot_starter_api.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import mw.maulidi.money_manager_springboot_starter_api.utils.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,9 +18,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component // Marks this class as a Spring-managed bean (so Spring can detect and use it)
-@RequiredArgsConstructor // Automatically generates a constructor for final fields (userDetailsService, jwtUtil)
+@RequiredArgsConstructor // Automatically generates a constructor for final fields (userDetailsService, jwtUtil, tokenVersionRegistry)
 public class JWTRequestFilter extends OncePerRequestFilter {
 
     // Used to load user information from the database based on the username (email)
@@ -26,6 +30,13 @@ public class JWTRequestFilter extends OncePerRequestFilter {
     // Utility class that handles JWT generation, extraction, and validation
     private final JwtUtil jwtUtil;
 
+    // Checks the token's "ver" claim so tokens can be revoked without loading the profile
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    // Opt-in stateless mode: the principal comes straight from the claims, no UserDetailsService call
+    @Value("${app.security.jwt.stateless:false}")
+    private boolean statelessAuth;
+
     /**
      * This method runs once for every HTTP request.
      * It checks for a JWT token in the Authorization header and authenticates the user if the token is valid.
@@ -38,42 +49,84 @@ public class JWTRequestFilter extends OncePerRequestFilter {
         // Extract the Authorization header (should contain something like "Bearer <token>")
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String email = null; // Will hold the username/email extracted from the token
-        String jwt = null;   // Will hold the actual JWT string
-
-        // Check if header is present and starts with "Bearer "
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+        // Proceed only if a bearer token is present and the user is not already authenticated
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             // Extract the token by removing "Bearer " (first 7 characters)
-            jwt = authorizationHeader.substring(7);
-            // Extract the username/email from the token using JwtUtil
-            email = jwtUtil.extractUsername(jwt);
-        }
+            String jwt = authorizationHeader.substring(7);
+
+            try {
+                // Parse and verify the token exactly once (signature + expiry)
+                Claims claims = jwtUtil.parseClaims(jwt);
 
-        // Proceed only if we found an email and the user is not already authenticated
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load the user details from the database (via the UserDetailsService)
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-            // Validate the token using the JwtUtil
-            // This checks if the token is correctly signed and not expired
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                // If valid, create an authentication object recognized by Spring Security
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, // Principal (user)
-                                null, // No credentials (password not needed)
-                                userDetails.getAuthorities() // Roles/permissions
-                        );
-
-                // Attach request details (like IP, session info) to the authentication
-                authenticationToken.setDetails(new WebAuthenticationDetails(request));
-
-                // Set the authentication in the SecurityContext so the user is now "logged in"
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                // Revoked tokens (stale "ver" claim) are treated like any other invalid token
+                if (!isRevoked(claims)) {
+                    Long profileId = claims.get(JwtUtil.PROFILE_ID_CLAIM, Long.class);
+                    if (statelessAuth && profileId != null) {
+                        authenticateFromClaims(claims, profileId, request);
+                    } else {
+                        authenticateWithUserDetails(claims, request);
+                    }
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid, tampered or expired token: continue unauthenticated and let security reject the request
+                logger.debug("Rejected JWT: " + e.getMessage());
             }
         }
 
         // Continue the filter chain — pass the request to the next filter (or controller)
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Stateless mode: builds the principal from the verified claims, skipping the profile lookup entirely.
+     */
+    private void authenticateFromClaims(Claims claims, Long profileId, HttpServletRequest request) {
+        JwtPrincipal principal = new JwtPrincipal(
+                profileId,
+                claims.getSubject(),
+                claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class)
+        );
+        setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, Collections.emptyList()), request);
+    }
+
+    /**
+     * Default mode: loads the user details (served from PrincipalCache) and validates the already-parsed claims.
+     */
+    private void authenticateWithUserDetails(Claims claims, HttpServletRequest request) {
+        // Load the user details via the UserDetailsService
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+
+        // Validate the claims against the user (no second parse of the token)
+        if (jwtUtil.validateClaims(claims, userDetails)) {
+            // If valid, create an authentication object recognized by Spring Security
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails, // Principal (user)
+                            null, // No credentials (password not needed)
+                            userDetails.getAuthorities() // Roles/permissions
+                    );
+            setAuthentication(authenticationToken, request);
+        }
+    }
+
+    /**
+     * Tokens carrying a profile id must also carry its current token version.
+     * Older tokens without the claims are accepted only in the default mode.
+     */
+    private boolean isRevoked(Claims claims) {
+        Long profileId = claims.get(JwtUtil.PROFILE_ID_CLAIM, Long.class);
+        if (profileId == null) {
+            return false;
+        }
+        return !tokenVersionRegistry.isCurrent(profileId, claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class));
+    }
+
+    private void setAuthentication(UsernamePasswordAuthenticationToken authenticationToken, HttpServletRequest request) {
+        // Attach request details (like IP, session info) to the authentication
+        authenticationToken.setDetails(new WebAuthenticationDetails(request));
+
+        // Set the authentication in the SecurityContext so the user is now "logged in"
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
 }
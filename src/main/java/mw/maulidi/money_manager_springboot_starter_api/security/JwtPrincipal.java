@@ -0,0 +1,17 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built straight from verified JWT claims in stateless auth mode.
+ *
+ * getName() returns the email so authentication.getName() keeps working
+ * everywhere the code relied on a UserDetails principal before.
+ */
+public record JwtPrincipal(Long profileId, String email, Integer tokenVersion) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,81 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email.
+ * -------------------------------------------------------
+ * JWTRequestFilter resolves the user on every authenticated request. Without this
+ * cache that means one findByEmail round trip to MySQL per API call, even though
+ * the stored credentials almost never change.
+ *
+ * Only an immutable snapshot is cached (never the UserDetails itself), because
+ * Spring Security erases credentials on the UserDetails it hands out after login.
+ * Hit/miss/eviction counts are published to Micrometer as "principalCache".
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl:5m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalCache");
+    }
+
+    /**
+     * Returns the cached principal for the email, calling the loader only on a miss.
+     * A loader returning an empty Optional is not cached, so unknown emails keep
+     * going to the database (and keep failing) instead of poisoning the cache.
+     */
+    public Optional<CachedPrincipal> get(String email, Function<String, Optional<CachedPrincipal>> loader) {
+        return Optional.ofNullable(cache.get(email, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Stores a principal that was just read from the database (e.g. by the login pipeline),
+     * so the authentication provider resolves it without a second query.
+     */
+    public void put(CachedPrincipal principal) {
+        cache.put(principal.email(), principal);
+    }
+
+    /**
+     * Drops the cached principal so the next request reloads it from the database.
+     * Must be called whenever the stored credentials or account state change.
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    /** Immutable snapshot of the fields needed to rebuild a UserDetails. */
+    public record CachedPrincipal(Long profileId, String email, String password, boolean active) {
+
+        public static CachedPrincipal of(ProfileEntity profile) {
+            return new CachedPrincipal(
+                    profile.getId(),
+                    profile.getEmail(),
+                    profile.getPassword(),
+                    Boolean.TRUE.equals(profile.getIsActive())
+            );
+        }
+    }
+}
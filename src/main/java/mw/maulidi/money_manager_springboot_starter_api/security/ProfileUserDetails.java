@@ -0,0 +1,29 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Spring Security user that also remembers the profile's primary key,
+ * so code running after authentication never has to look the profile up by email again.
+ *
+ * "enabled" mirrors ProfileEntity.isActive, so DaoAuthenticationProvider itself rejects
+ * accounts that were never activated (DisabledException) before checking the password.
+ */
+@Getter
+public class ProfileUserDetails extends User {
+
+    private final Long profileId;
+
+    public ProfileUserDetails(Long profileId,
+                              String email,
+                              String password,
+                              boolean enabled,
+                              Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, enabled, true, true, true, authorities);
+        this.profileId = profileId;
+    }
+}
@@ -0,0 +1,128 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token-bucket rate limiting, placed right after JWTRequestFilter.
+ * -------------------------------------------------------
+ * - Clients are keyed by profile id once authenticated, otherwise by client IP
+ *   (register, login and activate are always anonymous, so they are limited per IP)
+ * - Each route from app.rate-limit.routes has its own buckets; other routes share the default limit
+ * - Buckets live in a bounded Caffeine cache and are evicted when idle, so memory stays flat
+ *   however many clients or IPs show up
+ * - Responses carry RateLimit-Limit/-Remaining/-Reset; rejected requests get 429 and Retry-After
+ *
+ * The client IP is request.getRemoteAddr(): behind a proxy, set server.forward-headers-strategy.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimitProperties properties;
+    private final List<CompiledRoute> routes;
+    private final List<PathPattern> excludedPaths;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routes = properties.routes().stream()
+                .map(route -> new CompiledRoute(route.name(), parser.parse(route.pattern()), route.method(), route.limit()))
+                .toList();
+        this.excludedPaths = properties.excludedPaths().stream()
+                .map(parser::parse)
+                .toList();
+
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return excludedPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CompiledRoute route = routeOf(request);
+        String key = route.name + ':' + clientOf(request);
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key,
+                k -> new TokenBucket(route.limit.capacity(), route.limit.period().toNanos(), now));
+        TokenBucket.Probe probe = bucket.tryConsume(now);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(probe.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(probe.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(probe.resetNanos())));
+
+        if (probe.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("http.server.requests.rate_limited", "route", route.name).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(toSeconds(probe.retryAfterNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, please retry later\"}");
+    }
+
+    private CompiledRoute routeOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (CompiledRoute route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(request.getMethod())) && route.pattern.matches(path)) {
+                return route;
+            }
+        }
+        return new CompiledRoute(DEFAULT_ROUTE, null, null, properties.defaultLimit());
+    }
+
+    /** Authenticated requests are keyed by profile, anonymous ones by client IP. */
+    private static String clientOf(HttpServletRequest request) {
+        Long profileId = CurrentProfile.profileIdOf(SecurityContextHolder.getContext().getAuthentication());
+        return profileId != null ? "p" + profileId : "ip" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        // round up, so clients never retry before a token is actually available
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record CompiledRoute(String name, PathPattern pattern, String method, RateLimitProperties.Limit limit) {
+    }
+}
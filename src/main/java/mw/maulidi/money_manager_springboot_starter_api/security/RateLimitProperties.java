@@ -0,0 +1,45 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limits (app.rate-limit.*), applied by {@link RateLimitFilter}.
+ *
+ * @param enabled       switches the filter off entirely
+ * @param maxBuckets    upper bound on tracked clients; least recently used buckets are dropped first
+ * @param idleTimeout   buckets untouched for this long are evicted (they would be full again anyway)
+ * @param defaultLimit  limit for routes without an entry in {@code routes}
+ * @param routes        per-route limits, first matching pattern wins
+ * @param excludedPaths never limited (e.g. health probes and the metrics scrape)
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("100000") long maxBuckets,
+                                  @DefaultValue("10m") Duration idleTimeout,
+                                  @DefaultValue Limit defaultLimit,
+                                  @DefaultValue List<Route> routes,
+                                  @DefaultValue List<String> excludedPaths) {
+
+    /**
+     * @param capacity requests allowed in a burst
+     * @param period   time to refill the whole capacity
+     */
+    public record Limit(@DefaultValue("120") long capacity, @DefaultValue("1m") Duration period) {
+    }
+
+    /**
+     * @param name    bucket namespace and metric tag (e.g. "login")
+     * @param pattern path pattern, e.g. /api/v1/profiles/login or /categories/**
+     * @param method  HTTP method to match, or null for any
+     */
+    public record Route(String name, String pattern, String method, long capacity, Duration period) {
+
+        Limit limit() {
+            return new Limit(capacity, period);
+        }
+    }
+}
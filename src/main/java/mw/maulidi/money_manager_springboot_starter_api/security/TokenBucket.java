@@ -0,0 +1,57 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * -------------------------------------------------------
+ * Implemented as GCRA (generic cell rate algorithm): instead of a token count plus a refill timestamp,
+ * the whole state is one "theoretical arrival time" in an AtomicLong, updated with a CAS loop.
+ * A bucket of {@code capacity} tokens refilled at capacity/period behaves exactly like this.
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    /** Time to refill one token */
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long capacity, long periodNanos, long now) {
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param now current System.nanoTime()
+     */
+    Probe tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long backlog = next - now;
+            if (backlog > burstNanos) {
+                // empty: the next token frees up when the backlog drops back to the burst size
+                long retryAfter = backlog - burstNanos;
+                return new Probe(false, capacity, 0, Math.max(current, now) - now, retryAfter);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                long remaining = (burstNanos - backlog) / emissionIntervalNanos;
+                return new Probe(true, capacity, remaining, backlog, 0);
+            }
+        }
+    }
+
+    /**
+     * Outcome of one request.
+     *
+     * @param resetNanos      time until the bucket is full again
+     * @param retryAfterNanos time until the next token (0 when allowed)
+     */
+    record Probe(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
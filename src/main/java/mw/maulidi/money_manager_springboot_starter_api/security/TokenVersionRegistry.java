@@ -0,0 +1,70 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Small in-memory table of the current token version per profile.
+ * -------------------------------------------------------
+ * Every JWT carries the profile's token version at the time it was issued ("ver" claim).
+ * Bumping the version revokes all older tokens. Checking it only needs a single integer,
+ * so a miss costs one scalar query instead of a full ProfileEntity load.
+ *
+ * Entries expire after a short TTL (app.security.token-version.ttl) so revocations made on another node
+ * are picked up: the node that revoked rejects old tokens from the next request on, other nodes may
+ * still accept them for up to one TTL.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    /** Marker for profiles that no longer exist; no token can match it. */
+    private static final int UNKNOWN_PROFILE = -1;
+
+    private final ProfileRepository profileRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionRegistry(ProfileRepository profileRepository,
+                                @Value("${app.security.token-version.max-size:100000}") long maxSize,
+                                @Value("${app.security.token-version.ttl:1m}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns true if the token version matches the profile's current version.
+     */
+    public boolean isCurrent(Long profileId, Integer tokenVersion) {
+        if (profileId == null || tokenVersion == null) {
+            return false;
+        }
+        int current = versions.get(profileId, id -> profileRepository.findTokenVersionById(id).orElse(UNKNOWN_PROFILE));
+        return current == tokenVersion;
+    }
+
+    /**
+     * Revokes every token issued so far for the profile.
+     * The cached version is dropped after commit; dropped earlier, a concurrent request could
+     * reload the old version before the new one is visible and cache it for another TTL.
+     */
+    @Transactional
+    public void revokeAll(Long profileId) {
+        profileRepository.incrementTokenVersion(profileId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.invalidate(profileId);
+            }
+        });
+    }
+}
@@ -1,15 +1,19 @@
 package mw.maulidi.money_manager_springboot_starter_api.service;
 
 import lombok.RequiredArgsConstructor;
-import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
 import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
-import org.springframework.security.core.userdetails.User;
+import mw.maulidi.money_manager_springboot_starter_api.security.PrincipalCache;
+import mw.maulidi.money_manager_springboot_starter_api.security.PrincipalCache.CachedPrincipal;
+import mw.maulidi.money_manager_springboot_starter_api.security.ProfileUserDetails;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Service responsible for integrating custom ProfileEntity users
@@ -17,15 +21,23 @@ import java.util.Collections;
  *
  * This class tells Spring Security how to fetch user data (email, password)
  * from the database during the login process.
+ *
+ * Lookups go through {@link PrincipalCache} so JWT-authenticated requests
+ * don't pay a database read each time.
+ *
+ * It also stores re-hashed passwords: after a successful login, the authentication
+ * provider asks for a new hash when the stored one is weaker than the configured
+ * BCrypt strength, so raising the strength needs no migration.
  */
 @Service
 @RequiredArgsConstructor
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final ProfileRepository profileRepository;
+    private final PrincipalCache principalCache;
 
     /**
-     * Loads a user's details from the database using their email.
+     * Loads a user's details using their email, hitting the database only on a cache miss.
      *
      * @param email the user's email address (used as username)
      * @return a Spring Security {@link UserDetails} object
@@ -33,14 +45,47 @@ public class AppUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        ProfileEntity existingProfile = profileRepository.findByEmail(email)
+        CachedPrincipal principal = principalCache.get(email, this::loadPrincipal)
                 .orElseThrow(() -> new UsernameNotFoundException("Profile not found with email: " + email));
 
-        // Return a Spring Security compatible User object
-        return User.builder()
-                .username(existingProfile.getEmail())
-                .password(existingProfile.getPassword())
-                .authorities(Collections.emptyList()) // No roles or authorities yet
-                .build();
+        // Return a Spring Security compatible User object that also carries the profile id
+        return new ProfileUserDetails(
+                principal.profileId(),
+                principal.email(),
+                principal.password(),
+                principal.active(), // inactive accounts are rejected by the authentication provider
+                Collections.emptyList() // No roles or authorities yet
+        );
+    }
+
+    /**
+     * Saves the upgraded hash and drops the cached principal holding the old one.
+     *
+     * @param user        the user that just logged in
+     * @param newPassword the password re-encoded with the current strength
+     * @return the user details carrying the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        ProfileUserDetails profile = (ProfileUserDetails) user;
+        profileRepository.updatePassword(profile.getProfileId(), newPassword);
+        principalCache.evict(profile.getUsername());
+
+        return new ProfileUserDetails(
+                profile.getProfileId(),
+                profile.getUsername(),
+                newPassword,
+                profile.isEnabled(),
+                profile.getAuthorities()
+        );
+    }
+
+    /**
+     * Reads the profile from the database and snapshots the fields we need to cache.
+     */
+    private Optional<CachedPrincipal> loadPrincipal(String email) {
+        return profileRepository.findByEmail(email)
+                .map(CachedPrincipal::of);
     }
 }
@@ -0,0 +1,51 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Each profile's base currency, cached so ledger writes and dashboards don't re-read the profile.
+ * Hit/miss counts are published to Micrometer as "baseCurrencyCache".
+ */
+@Component
+public class BaseCurrencyCache {
+
+    private final ProfileRepository profileRepository;
+    private final Cache<Long, String> cache;
+    private final String defaultCurrency;
+
+    public BaseCurrencyCache(ProfileRepository profileRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.fx.default-currency:USD}") String defaultCurrency,
+                             @Value("${app.fx.base-currency-cache.max-size:100000}") long maxSize,
+                             @Value("${app.fx.base-currency-cache.ttl:1h}") Duration ttl) {
+        this.profileRepository = profileRepository;
+        this.defaultCurrency = defaultCurrency;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "baseCurrencyCache");
+    }
+
+    public String get(Long profileId) {
+        return cache.get(profileId, id -> profileRepository.findBaseCurrencyById(id).orElse(defaultCurrency));
+    }
+
+    /** Currency for new profiles that don't choose one. */
+    public String getDefaultCurrency() {
+        return defaultCurrency;
+    }
+
+    public void evict(Long profileId) {
+        cache.invalidate(profileId);
+    }
+}
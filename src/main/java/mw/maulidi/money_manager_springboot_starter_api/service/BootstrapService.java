@@ -0,0 +1,151 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryStatsExecutor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.BootstrapDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.DashboardDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.ProfileDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BootstrapService
+ * ----------------------
+ * Everything a client needs on start-up in one response: the public profile, the categories
+ * grouped by type and the current month's totals.
+ *
+ * - The three parts are loaded concurrently, so the response takes as long as the slowest part
+ *   instead of the sum of all three
+ * - Work runs on a small bounded pool; when it is saturated the request thread loads the part
+ *   itself, so a burst degrades to sequential loading instead of failing
+ * - Worker threads get the caller's security context, so replica routing (read-your-writes)
+ *   still sees the profile, and the request's QueryStats, so their statements count towards
+ *   the endpoint's query budget
+ */
+@Slf4j
+@Service
+public class BootstrapService implements AutoCloseable {
+
+    private final ProfileService profileService;
+    private final CategoryService categoryService;
+    private final MonthlySummaryService monthlySummaryService;
+    private final CurrentProfile currentProfile;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public BootstrapService(ProfileService profileService,
+                            CategoryService categoryService,
+                            MonthlySummaryService monthlySummaryService,
+                            CurrentProfile currentProfile,
+                            @Value("${app.bootstrap.threads:8}") int threads,
+                            @Value("${app.bootstrap.queue-capacity:64}") int queueCapacity,
+                            @Value("${app.bootstrap.timeout:5s}") Duration timeout,
+                            MeterRegistry meterRegistry) {
+        this.profileService = profileService;
+        this.categoryService = categoryService;
+        this.monthlySummaryService = monthlySummaryService;
+        this.currentProfile = currentProfile;
+        this.timeout = timeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bootstrap-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "bootstrap");
+    }
+
+    public BootstrapDTO getBootstrap() {
+        Long profileId = currentProfile.getId(); // resolved here: CurrentProfile is request scoped
+        YearMonth month = YearMonth.now();
+        Executor withContext = new DelegatingSecurityContextExecutor(
+                new QueryStatsExecutor(executor), SecurityContextHolder.getContext());
+
+        CompletableFuture<ProfileDTO> profile = CompletableFuture.supplyAsync(
+                () -> profileService.getPublicProfile(profileId), withContext);
+        CompletableFuture<Map<String, List<CategoryDTO>>> categories = CompletableFuture.supplyAsync(
+                () -> groupByType(categoryService.getCategoriesForProfile(profileId).categories()), withContext);
+        CompletableFuture<DashboardDTO> dashboard = CompletableFuture.supplyAsync(
+                () -> monthlySummaryService.getDashboard(profileId, month, month), withContext);
+
+        try {
+            CompletableFuture.allOf(profile, categories, dashboard).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            profile.cancel(false);
+            categories.cancel(false);
+            dashboard.cancel(false);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Bootstrap data is taking too long to load");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Bootstrap was interrupted");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        DashboardDTO summary = dashboard.join();
+        return BootstrapDTO.builder()
+                .profile(profile.join())
+                .categories(categories.join())
+                .currency(summary.getCurrency())
+                .currentMonth(summary.getMonths().get(0))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /** Every type is present, with an empty list when the profile has no categories of it. */
+    private static Map<String, List<CategoryDTO>> groupByType(List<CategoryDTO> categories) {
+        Map<String, List<CategoryDTO>> byType = new LinkedHashMap<>();
+        for (CategoryType type : CategoryType.values()) {
+            byType.put(type.name(), categories.stream()
+                    .filter(category -> type.name().equalsIgnoreCase(category.getType()))
+                    .toList());
+        }
+        return byType;
+    }
+
+    /** Rethrows what a worker threw, so errors map to the same statuses as the single-resource endpoints. */
+    private static RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        log.error("Bootstrap failed", cause);
+        return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to load bootstrap data");
+    }
+}
@@ -0,0 +1,57 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Sends budget alert emails, off the request thread.
+ * Each (profile, category, month, threshold) is alerted at most once: the tbl_budget_alerts insert
+ * and the outbox row commit together, and a second insert for the same key is ignored.
+ */
+@Service
+@RequiredArgsConstructor
+public class BudgetAlertService {
+
+    private final BudgetRepository budgetRepository;
+    private final ProfileRepository profileRepository;
+    private final CategoryRepository categoryRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final MeterRegistry meterRegistry;
+
+    @Async
+    @EventListener
+    @Transactional
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        int inserted = budgetRepository.recordAlert(
+                event.profileId(), event.categoryId(), event.periodMonth(), event.thresholdPercent());
+        if (inserted == 0) {
+            return; // already alerted (another node, or before a restart)
+        }
+        String email = profileRepository.findEmailById(event.profileId()).orElse(null);
+        if (email == null) {
+            return;
+        }
+        String categoryName = categoryRepository.findById(event.categoryId())
+                .map(CategoryEntity::getName)
+                .orElse("a category");
+        YearMonth month = YearMonth.of(event.periodMonth() / 100, event.periodMonth() % 100);
+
+        String subject = "You've used " + event.thresholdPercent() + "% of your " + categoryName + " budget";
+        String body = "<h2>Budget alert: " + categoryName + "</h2>" +
+                "<p>You have spent " + BigDecimal.valueOf(event.spentCents(), 2) +
+                " of your " + BigDecimal.valueOf(event.limitCents(), 2) + " budget for " + month + ".</p>";
+        emailOutboxService.enqueue(email, subject, body);
+        meterRegistry.counter("budget.alerts", "threshold", String.valueOf(event.thresholdPercent())).increment();
+    }
+}
@@ -0,0 +1,117 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.BudgetDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.BudgetEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * BudgetService
+ * ----------------------
+ * Monthly spending limits on the authenticated user's expense categories.
+ * Spending figures come from {@link BudgetTracker}, not from the ledger.
+ * Limits are in the profile's base currency.
+ */
+@Service
+@RequiredArgsConstructor
+public class BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final BudgetTracker budgetTracker;
+    private final CurrentProfile currentProfile;
+    private final BaseCurrencyCache baseCurrencyCache;
+
+    /**
+     * Lists the user's budgets with this month's spending.
+     */
+    public List<BudgetDTO> getBudgets() {
+        Long profileId = currentProfile.getId();
+        Map<Long, BudgetTracker.Usage> usage = budgetTracker.snapshot(profileId);
+        if (usage.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> names = categoryService.getCategoriesForProfile(profileId).categories().stream()
+                .collect(Collectors.toMap(CategoryDTO::getId, CategoryDTO::getName));
+        YearMonth month = YearMonth.now();
+        String currency = baseCurrencyCache.get(profileId);
+
+        return usage.entrySet().stream()
+                .map(entry -> toDTO(entry.getKey(), names.get(entry.getKey()), entry.getValue(), currency, month))
+                .sorted(Comparator.comparing(BudgetDTO::getCategoryName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    /**
+     * Creates or replaces the monthly limit of one of the user's expense categories.
+     */
+    public BudgetDTO setBudget(Long categoryId, BudgetDTO budgetDTO) {
+        Long profileId = currentProfile.getId();
+        BigDecimal amount = budgetDTO.getAmount();
+        if (amount == null || amount.signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount can have at most 2 decimal places");
+        }
+        CategoryEntity category = categoryRepository.findByIdAndProfile_Id(categoryId, profileId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
+        if (!CategoryType.EXPENSE.name().equalsIgnoreCase(category.getType())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Budgets can only be set on expense categories");
+        }
+
+        BudgetEntity budget = budgetRepository.findByProfileIdAndCategoryId(profileId, categoryId)
+                .orElseGet(() -> BudgetEntity.builder().profileId(profileId).categoryId(categoryId).build());
+        budget.setAmount(amount.setScale(2, RoundingMode.UNNECESSARY));
+        budgetRepository.save(budget);
+        budgetTracker.evict(profileId);
+
+        BudgetTracker.Usage usage = budgetTracker.snapshot(profileId).get(categoryId);
+        return toDTO(categoryId, category.getName(), usage, baseCurrencyCache.get(profileId), YearMonth.now());
+    }
+
+    /**
+     * Removes the monthly limit of one of the user's categories.
+     */
+    @Transactional
+    public void deleteBudget(Long categoryId) {
+        Long profileId = currentProfile.getId();
+        if (budgetRepository.deleteByProfileIdAndCategoryId(profileId, categoryId) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Budget not found");
+        }
+        budgetTracker.evict(profileId);
+    }
+
+    private static BudgetDTO toDTO(Long categoryId, String categoryName, BudgetTracker.Usage usage,
+                                   String currency, YearMonth month) {
+        long limit = usage != null ? usage.limitCents() : 0;
+        long spent = usage != null ? usage.spentCents() : 0;
+        return BudgetDTO.builder()
+                .categoryId(categoryId)
+                .categoryName(categoryName)
+                .amount(BigDecimal.valueOf(limit, 2))
+                .spent(BigDecimal.valueOf(spent, 2))
+                .currency(currency)
+                .percentUsed(limit > 0 ? (int) (spent * 100 / limit) : 0)
+                .month(month)
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+/**
+ * Published by BudgetTracker when a write takes a category's monthly spending over an alert threshold.
+ */
+public record BudgetThresholdCrossedEvent(Long profileId,
+                                          Long categoryId,
+                                          int periodMonth,
+                                          int thresholdPercent,
+                                          long limitCents,
+                                          long spentCents) {
+}
@@ -0,0 +1,292 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository.BudgetSpend;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory running totals of each profile's budgeted spending for the current month.
+ * -------------------------------------------------------
+ * Budget checks must not re-sum the month on every write, so each profile's budgets and spending
+ * are loaded once (budgets joined with tbl_monthly_summary, many profiles per query) and then kept
+ * up to date from {@link SpendingRecordedEvent}s: an expense costs a map lookup and an atomic add.
+ *
+ * - Events are applied after commit, so rolled-back writes never count
+ * - The write path never queries: a write for a profile that isn't tracked (or was tracked for an earlier
+ *   month) only queues the profile, and {@link #loadPending()} loads the queue every
+ *   app.budget.load-interval-ms. The load reads the committed totals, so it includes that write
+ * - Thresholds (app.budget.alert-thresholds, in percent) are evaluated on every change of a total:
+ *   a write, a fresh load and a reconcile. Each one reached publishes a {@link BudgetThresholdCrossedEvent}
+ *   once per loaded state; BudgetAlertService's insert into tbl_budget_alerts makes it exactly once
+ *   across nodes and reloads. So spending that only adds up past a threshold across several nodes
+ *   is alerted at the next reconcile.
+ * - Queued profiles are loaded together, one query per {@value #LOAD_CHUNK_SIZE} profiles
+ * - Limits and totals are in the profile's base currency; spending in other currencies is converted
+ *   with {@link FxRateTable} at today's rate
+ * - Only the current month is tracked; a new month reloads the profile (queued by a write, or on a read)
+ * - reconcile() periodically replaces cached totals with the database's, repairing drift
+ *   from other nodes and from races with the initial load
+ */
+@Slf4j
+@Component
+public class BudgetTracker {
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final BudgetRepository budgetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FxRateTable fxRateTable;
+    private final TransactionTemplate loadTransaction;
+    private final TransactionTemplate reconcileTransaction;
+    private final Cache<Long, ProfileBudgets> profiles;
+    private final int[] alertThresholds;
+    /** Profiles a write found untracked, waiting for {@link #loadPending()} */
+    private final Set<Long> pendingLoads = ConcurrentHashMap.newKeySet();
+
+    /** Replaced by tests to cross a month boundary */
+    Clock clock = Clock.systemDefaultZone();
+
+    public BudgetTracker(BudgetRepository budgetRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         FxRateTable fxRateTable,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.budget.alert-thresholds:80,100}") int[] alertThresholds,
+                         @Value("${app.budget.cache.max-size:100000}") long maxSize,
+                         @Value("${app.budget.cache.idle-timeout:1h}") Duration idleTimeout) {
+        this.budgetRepository = budgetRepository;
+        this.eventPublisher = eventPublisher;
+        this.fxRateTable = fxRateTable;
+        // loads get their own transaction whatever the caller runs in; being read-write, they read the
+        // primary, where the writes that queued them are already visible
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setReadOnly(true);
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "budgetTracker");
+        this.alertThresholds = alertThresholds.clone();
+        Arrays.sort(this.alertThresholds);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpendingRecorded(SpendingRecordedEvent event) {
+        int period = currentPeriod();
+        long today = LocalDate.now(clock).toEpochDay();
+        event.changes().forEach((profileId, changes) -> {
+            ProfileBudgets state = profiles.getIfPresent(profileId);
+            if (state == null || state.periodMonth() != period) {
+                // the load reads this write's committed amounts (and checks their thresholds)
+                pendingLoads.add(profileId);
+                return;
+            }
+            for (SpendingRecordedEvent.Change change : changes) {
+                CategoryBudget budget = state.categories().get(change.categoryId());
+                if (budget == null || change.periodMonth() != period) {
+                    continue;
+                }
+                budget.spentCents.addAndGet(fxRateTable.convert(MonthlySummaryService.toMinorUnits(change.amount()),
+                        fxRateTable.indexOf(change.currency()), state.baseCurrency(), today));
+                checkThresholds(profileId, change.categoryId(), period, budget);
+            }
+        });
+    }
+
+    /**
+     * The profile's budgets with this month's spending, loading them if they are not tracked yet.
+     *
+     * @return usage by category id
+     */
+    public Map<Long, Usage> snapshot(Long profileId) {
+        int period = currentPeriod();
+        ProfileBudgets state = profiles.getIfPresent(profileId);
+        if (state == null || state.periodMonth() != period) {
+            state = loadAll(List.of(profileId), period).get(profileId);
+        }
+        Map<Long, Usage> snapshot = new HashMap<>();
+        state.categories().forEach((categoryId, budget) ->
+                snapshot.put(categoryId, new Usage(budget.limitCents, budget.spentCents.get())));
+        return snapshot;
+    }
+
+    /**
+     * Forgets the profile's tracked budgets. Call after any budget write.
+     */
+    public void evict(Long profileId) {
+        profiles.invalidate(profileId);
+    }
+
+    /**
+     * Loads the profiles queued by writes, a chunk of profiles per query, and checks their thresholds.
+     */
+    @Scheduled(fixedDelayString = "${app.budget.load-interval-ms:1000}")
+    public void loadPending() {
+        if (pendingLoads.isEmpty()) {
+            return;
+        }
+        List<Long> profileIds = new ArrayList<>();
+        for (Iterator<Long> iterator = pendingLoads.iterator(); iterator.hasNext(); ) {
+            profileIds.add(iterator.next());
+            iterator.remove(); // a write queuing the profile again after this point gets another load
+        }
+        loadAll(profileIds, currentPeriod());
+    }
+
+    /**
+     * Replaces the totals of every tracked profile with the database's, a chunk of profiles per query,
+     * and checks the thresholds of the new totals.
+     */
+    @Scheduled(fixedDelayString = "${app.budget.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        int period = currentPeriod();
+        List<Long> tracked = new ArrayList<>(profiles.asMap().keySet());
+        for (int from = 0; from < tracked.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = tracked.subList(from, Math.min(from + LOAD_CHUNK_SIZE, tracked.size()));
+            List<BudgetSpend> rows = reconcileTransaction.execute(status -> budgetRepository.findBudgetSpend(chunk, period));
+            group(chunk, rows, period).forEach((profileId, fresh) -> {
+                // only refresh entries still cached; evicted ones reload on next use
+                ProfileBudgets current = profiles.asMap().computeIfPresent(profileId, (id, old) -> fresh.carryOver(old));
+                if (current == fresh) {
+                    checkThresholds(profileId, fresh);
+                }
+            });
+        }
+        if (!tracked.isEmpty()) {
+            log.debug("Reconciled budget totals for {} profiles", tracked.size());
+        }
+    }
+
+    /**
+     * Loads and caches the given profiles' budgets, a chunk per query, and checks their thresholds.
+     */
+    private Map<Long, ProfileBudgets> loadAll(List<Long> profileIds, int period) {
+        Map<Long, ProfileBudgets> loaded = new HashMap<>();
+        for (int from = 0; from < profileIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = profileIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, profileIds.size()));
+            List<BudgetSpend> rows = loadTransaction.execute(status -> budgetRepository.findBudgetSpend(chunk, period));
+            loaded.putAll(group(chunk, rows, period));
+        }
+        loaded.forEach((profileId, state) -> {
+            profiles.put(profileId, state);
+            checkThresholds(profileId, state);
+        });
+        return loaded;
+    }
+
+    private Map<Long, ProfileBudgets> group(Collection<Long> profileIds, List<BudgetSpend> rows, int period) {
+        Map<Long, ProfileBudgets> grouped = new HashMap<>();
+        for (Long profileId : profileIds) {
+            grouped.put(profileId, new ProfileBudgets(period, -1, new HashMap<>())); // no budgets
+        }
+        long today = LocalDate.now(clock).toEpochDay();
+        // one row per (budget, currency spent in)
+        for (BudgetSpend row : rows) {
+            ProfileBudgets state = grouped.get(row.getProfileId());
+            if (state.baseCurrency() < 0) {
+                state = new ProfileBudgets(period, fxRateTable.indexOf(row.getBaseCurrency()), state.categories());
+                grouped.put(row.getProfileId(), state);
+            }
+            CategoryBudget budget = state.categories().computeIfAbsent(row.getCategoryId(),
+                    id -> new CategoryBudget(MonthlySummaryService.toMinorUnits(row.getAmount()), 0));
+            if (row.getSpent() != null) {
+                budget.spentCents.addAndGet(fxRateTable.convert(MonthlySummaryService.toMinorUnits(row.getSpent()),
+                        fxRateTable.indexOf(row.getCurrency()), state.baseCurrency(), today));
+            }
+        }
+        return grouped;
+    }
+
+    private void checkThresholds(Long profileId, ProfileBudgets state) {
+        state.categories().forEach((categoryId, budget) -> checkThresholds(profileId, categoryId, state.periodMonth(), budget));
+    }
+
+    /**
+     * Publishes every threshold the current total has reached that this state hasn't published yet.
+     * Lock-free: concurrent writes each publish only the levels they move the marker past.
+     */
+    private void checkThresholds(Long profileId, Long categoryId, int period, CategoryBudget budget) {
+        long spent = budget.spentCents.get();
+        int reached = 0;
+        while (reached < alertThresholds.length && spent * 100 >= budget.limitCents * alertThresholds[reached]) {
+            reached++;
+        }
+        int published = budget.publishedThresholds.getAndAccumulate(reached, Math::max);
+        for (int i = published; i < reached; i++) {
+            eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(
+                    profileId, categoryId, period, alertThresholds[i], budget.limitCents, spent));
+        }
+    }
+
+    private int currentPeriod() {
+        return MonthlySummaryService.periodOf(YearMonth.now(clock));
+    }
+
+    /** A category's monthly limit and spending so far, in minor units (cents). */
+    public record Usage(long limitCents, long spentCents) {
+    }
+
+    /**
+     * One profile's budgets for one month; the map is never modified after loading.
+     * baseCurrency is -1 for a profile without budgets.
+     */
+    private record ProfileBudgets(int periodMonth, int baseCurrency, Map<Long, CategoryBudget> categories) {
+
+        /** Keeps the thresholds already published from the replaced state of the same month. */
+        ProfileBudgets carryOver(ProfileBudgets old) {
+            if (old.periodMonth() == periodMonth) {
+                categories.forEach((categoryId, budget) -> {
+                    CategoryBudget previous = old.categories().get(categoryId);
+                    if (previous != null && previous.limitCents == budget.limitCents) {
+                        budget.publishedThresholds.set(previous.publishedThresholds.get());
+                    }
+                });
+            }
+            return this;
+        }
+    }
+
+    private static final class CategoryBudget {
+        private final long limitCents;
+        private final AtomicLong spentCents;
+        /** How many of the (sorted) alert thresholds have been published from this state */
+        private final AtomicInteger publishedThresholds = new AtomicInteger();
+
+        CategoryBudget(long limitCents, long spentCents) {
+            this.limitCents = limitCents;
+            this.spentCents = new AtomicLong(spentCents);
+        }
+    }
+}
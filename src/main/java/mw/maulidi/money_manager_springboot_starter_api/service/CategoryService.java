@@ -1,26 +1,96 @@
 package mw.maulidi.money_manager_springboot_starter_api.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
 import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
 import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
 import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * CategoryService
+ * ----------------------
+ * Creates and lists the authenticated user's categories.
+ *
+ * Category lists are read on nearly every screen and change rarely, so each profile's list
+ * is cached (Caffeine, metrics as "categoryCache") together with a strong ETag computed
+ * from its content.
+ *
+ * Reads served from the cache never touch the database. The cache is per node, so an entry older
+ * than app.categories.cache.recheck-interval is re-checked in the background against the profile's
+ * category version (row count + latest updated_at, one small aggregate), and the list is only read
+ * again when that changed. A write on another node is therefore seen within about the re-check
+ * interval (until then a stale ETag can still get a 304). Writes on this node call
+ * {@link #evict(Long)} and are seen on the next request.
+ */
 @Service
-@RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-    private final ProfileService profileService;
+    private final CurrentProfile currentProfile;
+    private final LoadingCache<Long, CategoryListing> categoryCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CategoryService(CategoryRepository categoryRepository,
+                           CurrentProfile currentProfile,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.categories.cache.max-size:10000}") long maxSize,
+                           @Value("${app.categories.cache.ttl:10m}") Duration ttl,
+                           @Value("${app.categories.cache.recheck-interval:5s}") Duration recheckInterval) {
+        this.categoryRepository = categoryRepository;
+        this.currentProfile = currentProfile;
+        // only loads and re-checks open a transaction; read-only so they can be served by a replica
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.categoryCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                // the read that finds an entry due returns it and starts the re-check on the common pool
+                .refreshAfterWrite(recheckInterval)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public CategoryListing load(Long profileId) {
+                        return loadCategories(profileId);
+                    }
+
+                    @Override
+                    public CategoryListing reload(Long profileId, CategoryListing cached) {
+                        String version = readOnlyTransaction.execute(status -> versionOf(profileId));
+                        return cached.version().equals(version) ? cached : loadCategories(profileId);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryCache, "categoryCache");
+    }
 
     /**
      * Creates a new category for the authenticated user.
+     * The profile is linked through a lazy reference, so no profile SELECT is issued.
      */
     public CategoryDTO saveCategory(CategoryDTO categoryDTO) {
-        ProfileEntity profile = profileService.getCurrentProfile();
+        Long profileId = currentProfile.getId();
 
         if (categoryDTO.getName() == null || categoryDTO.getName().trim().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category name is required");
@@ -30,16 +100,95 @@ public class CategoryService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category type is required");
         }
 
-        if (categoryRepository.existsByNameAndProfile_Id(categoryDTO.getName(), profile.getId())) {
+        if (categoryRepository.existsByNameAndProfile_Id(categoryDTO.getName(), profileId)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Category already exists");
         }
 
-        CategoryEntity newCategory = toEntity(categoryDTO, profile);
+        CategoryEntity newCategory = toEntity(categoryDTO, currentProfile.getReference());
         newCategory = categoryRepository.save(newCategory);
+        evict(profileId);
 
         return toDTO(newCategory);
     }
 
+    /**
+     * Returns all categories of the authenticated user, from the cache when possible.
+     */
+    public CategoryListing getCurrentUserCategories() {
+        return getCategoriesForProfile(currentProfile.getId());
+    }
+
+    /**
+     * Returns all categories of the given profile, from the cache when possible (one query on a miss).
+     */
+    public CategoryListing getCategoriesForProfile(Long profileId) {
+        return categoryCache.get(profileId);
+    }
+
+    /**
+     * Returns the authenticated user's categories of one type, filtered from the cached list.
+     */
+    public CategoryListing getCurrentUserCategoriesByType(CategoryType type) {
+        CategoryListing all = getCurrentUserCategories();
+        List<CategoryDTO> filtered = all.categories().stream()
+                .filter(category -> type.name().equalsIgnoreCase(category.getType()))
+                .toList();
+        return new CategoryListing(filtered, etagOf(all.etag() + ":" + type.name()), all.version());
+    }
+
+    /**
+     * Drops the profile's cached category list. Call after any category write.
+     */
+    public void evict(Long profileId) {
+        categoryCache.invalidate(profileId);
+    }
+
+    private CategoryListing loadCategories(Long profileId) {
+        List<CategoryDTO> categories = readOnlyTransaction.execute(status ->
+                categoryRepository.findByProfile_Id(profileId).stream()
+                        .map(this::toDTO)
+                        .toList());
+
+        // the version of exactly these rows, as versionOf() would read it, without a second query
+        LocalDateTime lastUpdated = categories.stream()
+                .map(CategoryDTO::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        String version = categories.size() + "@" + lastUpdated;
+
+        StringBuilder content = new StringBuilder();
+        for (CategoryDTO category : categories) {
+            content.append(category.getId()).append('|')
+                    .append(category.getName()).append('|')
+                    .append(category.getDescription()).append('|')
+                    .append(category.getIcon()).append('|')
+                    .append(category.getType()).append('|')
+                    .append(category.getUpdatedAt()).append('\n');
+        }
+        return new CategoryListing(categories, etagOf(content.toString()), version);
+    }
+
+    /** Changes whenever a category of the profile is added, updated or deleted. */
+    private String versionOf(Long profileId) {
+        CategoryRepository.CategoryVersion version = categoryRepository.findVersionByProfileId(profileId);
+        return version.getCount() + "@" + version.getLastUpdated();
+    }
+
+    /** Strong ETag: hash of the representation's content, identical on every node. */
+    private static String etagOf(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** An immutable category list, the strong ETag of its content and the version it was loaded at. */
+    public record CategoryListing(List<CategoryDTO> categories, String etag, String version) {
+    }
+
     /** Converts a CategoryDTO into a CategoryEntity for saving in the database. */
     private CategoryEntity toEntity(CategoryDTO categoryDTO, ProfileEntity profile) {
         return CategoryEntity.builder()
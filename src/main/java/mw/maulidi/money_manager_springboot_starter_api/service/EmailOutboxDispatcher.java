@@ -0,0 +1,196 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxStatus;
+import mw.maulidi.money_manager_springboot_starter_api.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background dispatcher for the email outbox.
+ * -------------------------------------------------------
+ * - Claims due rows in batches (SELECT ... FOR UPDATE SKIP LOCKED), so several nodes can run it
+ * - The claim only pushes next_attempt_at out by a lease and commits: SMTP runs outside any
+ *   transaction, so a slow relay holds neither row locks nor a pooled connection
+ * - Results are recorded in a second short transaction; rows of a node that dies mid-batch
+ *   become due again when their lease runs out (at-least-once delivery)
+ * - Sends a whole batch over one SMTP connection
+ * - Retries failures with exponential backoff and dead-letters them after max attempts
+ * - Publishes sent/retried/dead counters and a batch timer to Micrometer
+ */
+@Slf4j
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Timer batchTimer;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.lease:5m}")
+    private Duration lease;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = meterRegistry.counter("email.outbox.sent");
+        this.retryCounter = meterRegistry.counter("email.outbox.retried");
+        this.deadCounter = meterRegistry.counter("email.outbox.dead");
+        this.batchTimer = meterRegistry.timer("email.outbox.batch");
+    }
+
+    /**
+     * Drains one batch of due emails. Runs on the scheduler thread, never on an HTTP worker.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<EmailOutboxEntity> batch = claim();
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, Exception> failures = batchTimer.record(() -> send(batch));
+        transactionTemplate.executeWithoutResult(status -> recordResults(batch, failures));
+    }
+
+    /**
+     * Locks a batch of due rows just long enough to lease them to this node.
+     * The returned entities are detached snapshots.
+     */
+    private List<EmailOutboxEntity> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxEntity> due = emailOutboxRepository.findDueForDispatch(
+                    EmailOutboxStatus.PENDING, now, Limit.of(batchSize));
+            LocalDateTime leasedUntil = now.plus(lease);
+            due.forEach(email -> email.setNextAttemptAt(leasedUntil));
+            return due;
+        });
+    }
+
+    /**
+     * Sends the batch; no transaction is open here.
+     *
+     * @return the failure of each email that was not sent, by id
+     */
+    private Map<Long, Exception> send(List<EmailOutboxEntity> batch) {
+        Map<Long, Exception> failures = new HashMap<>();
+        // keyed by identity: MailSendException reports failures against the MimeMessage instances we passed in
+        Map<MimeMessage, Long> messages = new IdentityHashMap<>();
+        for (EmailOutboxEntity email : batch) {
+            try {
+                messages.put(emailService.createMessage(email.getRecipient(), email.getSubject(), email.getBody()), email.getId());
+            } catch (RuntimeException e) {
+                failures.put(email.getId(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            emailService.sendAll(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, failure) -> {
+                Long id = messages.get(message);
+                if (id != null) {
+                    failures.put(id, failure);
+                }
+            });
+        } catch (MailException e) {
+            // connection/authentication problem: the whole batch failed
+            log.warn("Email outbox batch of {} failed: {}", messages.size(), e.getMessage());
+            messages.values().forEach(id -> failures.put(id, e));
+        }
+        return failures;
+    }
+
+    /**
+     * Applies the outcome of a batch to the current rows.
+     */
+    private void recordResults(List<EmailOutboxEntity> batch, Map<Long, Exception> failures) {
+        List<Long> ids = batch.stream().map(EmailOutboxEntity::getId).toList();
+        for (EmailOutboxEntity email : emailOutboxRepository.findAllById(ids)) {
+            Exception failure = failures.get(email.getId());
+            if (failure != null) {
+                markFailed(email, failure);
+            } else {
+                markSent(email);
+            }
+        }
+    }
+
+    private void markSent(EmailOutboxEntity email) {
+        email.setStatus(EmailOutboxStatus.SENT);
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(null);
+        sentCounter.increment();
+    }
+
+    private void markFailed(EmailOutboxEntity email, Exception e) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(e.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.DEAD);
+            deadCounter.increment();
+            log.error("Email {} to {} dead-lettered after {} attempts: {}", email.getId(), email.getRecipient(), attempts, e.getMessage());
+        } else {
+            email.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            retryCounter.increment();
+        }
+    }
+
+    /** initialBackoff * 2^(attempts - 1), capped at maxBackoff */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,79 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxStatus;
+import mw.maulidi.money_manager_springboot_starter_api.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes delivered and dead-lettered emails once they are older than app.mail.outbox.retention.
+ * -------------------------------------------------------
+ * Without it tbl_email_outbox only grows, and every row keeps a full HTML body.
+ *
+ * - Works in chunks of app.mail.outbox.purge.chunk-size, one short transaction per chunk,
+ *   so it never holds long locks next to the dispatcher
+ * - Finds rows through idx_email_outbox_status_next_attempt, like the dispatcher does
+ * - PENDING rows are never touched; SENT and DEAD are final, so the delete needs no re-check
+ * - Safe to run on several nodes at once (deletes are idempotent)
+ */
+@Slf4j
+@Service
+public class EmailOutboxPurgeJob {
+
+    private static final Set<EmailOutboxStatus> FINISHED = Set.of(EmailOutboxStatus.SENT, EmailOutboxStatus.DEAD);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedCounter;
+
+    @Value("${app.mail.outbox.retention:7d}")
+    private Duration retention;
+
+    @Value("${app.mail.outbox.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    public EmailOutboxPurgeJob(EmailOutboxRepository emailOutboxRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedCounter = meterRegistry.counter("email.outbox.purged");
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge.cron:0 45 * * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            total += deleted;
+        } while (deleted == chunkSize);
+
+        if (total > 0) {
+            log.info("Purged {} sent or dead outbox emails older than {}", total, cutoff);
+        }
+    }
+
+    private int purgeChunk(LocalDateTime cutoff) {
+        List<Long> chunk = emailOutboxRepository.findFinishedBefore(FINISHED, cutoff, Limit.of(chunkSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        emailOutboxRepository.deleteAllByIdInBatch(chunk);
+        purgedCounter.increment(chunk.size());
+        return chunk.size();
+    }
+}
@@ -0,0 +1,27 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.EmailOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Queues emails in the outbox table instead of talking to SMTP on the request thread.
+ * The row joins the caller's transaction, so it is only visible once the business change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        emailOutboxRepository.save(EmailOutboxEntity.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .build());
+    }
+}
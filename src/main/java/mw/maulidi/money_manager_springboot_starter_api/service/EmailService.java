@@ -1,23 +1,48 @@
 package mw.maulidi.money_manager_springboot_starter_api.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+/**
+ * SMTP delivery. Each send (one message or a batch) is timed as "email.send".
+ */
 @Service
-@RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender javaMailSender;
+    private final Timer sendTimer;
 
     @Value("${spring.mail.properties.mail.smtp.from}")
     private String fromEmail;
 
+    public EmailService(JavaMailSender javaMailSender, MeterRegistry meterRegistry) {
+        this.javaMailSender = javaMailSender;
+        this.sendTimer = Timer.builder("email.send").register(meterRegistry);
+    }
+
     public void sendEmail(String to, String subject, String body) {
+        MimeMessage message = createMessage(to, subject, body);
+        sendTimer.record(() -> javaMailSender.send(message));
+    }
+
+    /**
+     * Sends several messages over a single SMTP connection.
+     * Per-message failures are reported through MailSendException#getFailedMessages.
+     */
+    public void sendAll(MimeMessage... messages) {
+        sendTimer.record(() -> javaMailSender.send(messages));
+    }
+
+    /**
+     * Builds an HTML message from the configured sender address.
+     */
+    public MimeMessage createMessage(String to, String subject, String body) {
         try {
             MimeMessage message = javaMailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -27,7 +52,7 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(body, true); // true = enable HTML
 
-            javaMailSender.send(message);
+            return message;
         } catch (MessagingException e) {
             throw new RuntimeException("Failed to send email: " + e.getMessage());
         }
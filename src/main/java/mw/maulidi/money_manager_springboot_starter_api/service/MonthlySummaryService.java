@@ -0,0 +1,237 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.dto.DashboardDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.MonthlySummaryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.MonthlySummaryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MonthlySummaryService
+ * ----------------------
+ * Keeps tbl_monthly_summary in step with the ledger and serves the dashboard from it.
+ *
+ * - Single writes apply their delta with one upsert in the same transaction
+ * - Bulk writes collect deltas in a {@link Deltas} and apply one upsert per key at the end
+ * - rebuildAll() recomputes every profile from the raw ledger (backfills, drift repair)
+ * - Totals are kept per currency and converted to the base currency when read (see getDashboard)
+ * - Expense deltas are also published as a {@link SpendingRecordedEvent} (budget tracking)
+ */
+@Slf4j
+@Service
+public class MonthlySummaryService {
+
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BaseCurrencyCache baseCurrencyCache;
+    private final FxRateTable fxRateTable;
+
+    public MonthlySummaryService(MonthlySummaryRepository monthlySummaryRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BaseCurrencyCache baseCurrencyCache,
+                                 FxRateTable fxRateTable) {
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.baseCurrencyCache = baseCurrencyCache;
+        this.fxRateTable = fxRateTable;
+    }
+
+    /** Adds a new ledger row to the rollup. */
+    public void recordAdded(TransactionEntity transaction) {
+        apply(transaction, 1);
+    }
+
+    /** Removes a ledger row (or the old state of an updated row) from the rollup. */
+    public void recordRemoved(TransactionEntity transaction) {
+        apply(transaction, -1);
+    }
+
+    /** Applies all deltas collected by a bulk write. */
+    public void applyAll(Deltas deltas) {
+        Map<Long, List<SpendingRecordedEvent.Change>> spending = new HashMap<>();
+        deltas.totals.forEach((key, delta) -> {
+            monthlySummaryRepository.addDelta(
+                    key.profileId(), key.periodMonth(), key.categoryId(), key.type(), key.currency(), delta.amount, delta.count);
+            if (CategoryType.EXPENSE.name().equals(key.type())) {
+                spending.computeIfAbsent(key.profileId(), id -> new ArrayList<>())
+                        .add(new SpendingRecordedEvent.Change(key.periodMonth(), key.categoryId(), key.currency(), delta.amount));
+            }
+        });
+        if (!spending.isEmpty()) {
+            eventPublisher.publishEvent(new SpendingRecordedEvent(spending));
+        }
+    }
+
+    private void apply(TransactionEntity transaction, int sign) {
+        BigDecimal amount = sign > 0 ? transaction.getAmount() : transaction.getAmount().negate();
+        monthlySummaryRepository.addDelta(
+                transaction.getProfile().getId(),
+                periodOf(transaction.getDate()),
+                transaction.getCategory().getId(),
+                transaction.getType(),
+                transaction.getCurrency(),
+                amount,
+                sign);
+        if (CategoryType.EXPENSE.name().equals(transaction.getType())) {
+            eventPublisher.publishEvent(new SpendingRecordedEvent(Map.of(transaction.getProfile().getId(), List.of(
+                    new SpendingRecordedEvent.Change(periodOf(transaction.getDate()), transaction.getCategory().getId(),
+                            transaction.getCurrency(), amount)))));
+        }
+    }
+
+    /**
+     * Dashboard data for the range: one entry per month plus the per-category breakdown.
+     * Reads at most (months x categories x currencies) pre-aggregated rows.
+     *
+     * Every amount is converted into the profile's base currency at the rate of the month's last day
+     * (today for the current month), in fixed-point minor units; rows of one category in several
+     * currencies are merged into one entry.
+     */
+    @Transactional(readOnly = true)
+    public DashboardDTO getDashboard(Long profileId, YearMonth from, YearMonth to) {
+        List<MonthlySummaryDTO> rows = monthlySummaryRepository.findForDashboard(profileId, periodOf(from), periodOf(to));
+        String baseCurrency = baseCurrencyCache.get(profileId);
+        int base = fxRateTable.indexOf(baseCurrency);
+
+        int monthCount = (int) from.until(to, ChronoUnit.MONTHS) + 1;
+        long[] income = new long[monthCount];
+        long[] expense = new long[monthCount];
+        long[] rateDays = new long[monthCount];
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < monthCount; i++) {
+            LocalDate monthEnd = from.plusMonths(i).atEndOfMonth();
+            rateDays[i] = (monthEnd.isAfter(today) ? today : monthEnd).toEpochDay();
+        }
+
+        // rows come ordered by month, type and category, so a category's currencies are adjacent
+        List<MonthlySummaryDTO> categories = new ArrayList<>();
+        MonthlySummaryDTO current = null;
+        long currentTotal = 0;
+        for (MonthlySummaryDTO row : rows) {
+            int month = (int) from.until(row.getMonth(), ChronoUnit.MONTHS);
+            long amount = fxRateTable.convert(
+                    toMinorUnits(row.getTotal()), fxRateTable.indexOf(row.getCurrency()), base, rateDays[month]);
+            if (CategoryType.INCOME.name().equalsIgnoreCase(row.getType())) {
+                income[month] += amount;
+            } else {
+                expense[month] += amount;
+            }
+
+            if (current != null && current.getMonth().equals(row.getMonth())
+                    && current.getCategoryId().equals(row.getCategoryId()) && current.getType().equals(row.getType())) {
+                currentTotal += amount;
+                current.setCount(current.getCount() + row.getCount());
+            } else {
+                if (current != null) {
+                    current.setTotal(BigDecimal.valueOf(currentTotal, 2));
+                    categories.add(current);
+                }
+                current = row;
+                current.setCurrency(baseCurrency);
+                currentTotal = amount;
+            }
+        }
+        if (current != null) {
+            current.setTotal(BigDecimal.valueOf(currentTotal, 2));
+            categories.add(current);
+        }
+
+        List<DashboardDTO.MonthTotals> months = new ArrayList<>(monthCount);
+        for (int i = 0; i < monthCount; i++) {
+            months.add(DashboardDTO.MonthTotals.builder()
+                    .month(from.plusMonths(i))
+                    .totalIncome(BigDecimal.valueOf(income[i], 2))
+                    .totalExpense(BigDecimal.valueOf(expense[i], 2))
+                    .balance(BigDecimal.valueOf(income[i] - expense[i], 2))
+                    .build());
+        }
+
+        return DashboardDTO.builder()
+                .currency(baseCurrency)
+                .months(months)
+                .categories(categories)
+                .build();
+    }
+
+    /**
+     * Rebuilds one profile's rollup from the raw ledger.
+     */
+    @Transactional
+    public void rebuild(Long profileId) {
+        monthlySummaryRepository.deleteByProfileId(profileId);
+        monthlySummaryRepository.rebuildFromLedger(profileId);
+    }
+
+    /**
+     * Backfill job: rebuilds every profile, one transaction per profile.
+     * Disabled unless app.summary.rebuild-cron is set.
+     */
+    @Scheduled(cron = "${app.summary.rebuild-cron:-}")
+    public void rebuildAll() {
+        List<Long> profileIds = monthlySummaryRepository.findProfileIdsWithTransactions();
+        log.info("Rebuilding monthly summaries for {} profiles", profileIds.size());
+        for (Long profileId : profileIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                monthlySummaryRepository.deleteByProfileId(profileId);
+                monthlySummaryRepository.rebuildFromLedger(profileId);
+            });
+        }
+    }
+
+    /** Amount in minor units (cents); ledger amounts always have scale 2. */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    public static int periodOf(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static int periodOf(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    /**
+     * Deltas collected in memory during a bulk write, applied with one upsert per key.
+     */
+    public static class Deltas {
+
+        private final Map<Key, Delta> totals = new HashMap<>();
+
+        public void add(TransactionEntity transaction) {
+            Key key = new Key(transaction.getProfile().getId(), periodOf(transaction.getDate()),
+                    transaction.getCategory().getId(), transaction.getType(), transaction.getCurrency());
+            Delta delta = totals.computeIfAbsent(key, k -> new Delta());
+            delta.amount = delta.amount.add(transaction.getAmount());
+            delta.count++;
+        }
+
+        private record Key(Long profileId, int periodMonth, Long categoryId, String type, String currency) {
+        }
+
+        private static final class Delta {
+            private BigDecimal amount = BigDecimal.ZERO;
+            private long count;
+        }
+    }
+}
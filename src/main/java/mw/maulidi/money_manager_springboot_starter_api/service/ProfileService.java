@@ -3,19 +3,35 @@ package mw.maulidi.money_manager_springboot_starter_api.service;
 import lombok.RequiredArgsConstructor;
 import mw.maulidi.money_manager_springboot_starter_api.dto.AuthDTO;
 import mw.maulidi.money_manager_springboot_starter_api.dto.ProfileDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.BudgetEntity;
 import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository;
 import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.security.PrincipalCache;
+import mw.maulidi.money_manager_springboot_starter_api.security.PrincipalCache.CachedPrincipal;
+import mw.maulidi.money_manager_springboot_starter_api.security.TokenVersionRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.utils.ActivationTokenUtil;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
 import mw.maulidi.money_manager_springboot_starter_api.utils.JwtUtil;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * ProfileService
@@ -31,27 +47,43 @@ import java.util.UUID;
 public class ProfileService {
 
     private final ProfileRepository profileRepository;
-    private final EmailService emailService;
+    private final BudgetRepository budgetRepository;
+    private final EmailOutboxService emailOutboxService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager  authenticationManager;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final CurrentProfile currentProfile;
+    private final ActivationTokenUtil activationTokenUtil;
+    private final BaseCurrencyCache baseCurrencyCache;
+    private final BudgetTracker budgetTracker;
+    private final FxRateTable fxRateTable;
 
     /**
-     * Registers a new profile, encodes the password, generates an activation token,
-     * saves the user, and sends an email with an activation link.
+     * Registers a new profile, encodes the password, saves the user, and queues an email
+     * with an activation link. The link carries a signed, expiring token (see {@link ActivationTokenUtil})
+     * built from the new profile id, so nothing token-related is stored.
+     *
+     * The email is written to the outbox in the same transaction as the profile and
+     * delivered by EmailOutboxDispatcher, so registration never waits on the mail relay.
      *
      * @param profileDTO the registration data
      * @return a DTO of the newly registered profile
      */
+    @Transactional
     public ProfileDTO registerProfile(ProfileDTO profileDTO) {
         ProfileEntity newProfile = toEntity(profileDTO);
 
-        newProfile.setActivationToken(UUID.randomUUID().toString());
         newProfile.setIsActive(false);
+        newProfile.setBaseCurrency(profileDTO.getBaseCurrency() != null
+                ? validCurrency(profileDTO.getBaseCurrency())
+                : baseCurrencyCache.getDefaultCurrency());
         profileRepository.save(newProfile);
 
         // Create the activation link
-        String activationLink = "http://localhost:8080/api/v1/profiles/activate?activationToken=" + newProfile.getActivationToken();
+        String activationToken = activationTokenUtil.generate(newProfile.getId());
+        String activationLink = "http://localhost:8080/api/v1/profiles/activate?activationToken=" + activationToken;
 
         // Email message body (HTML)
         String subject = "Activate your Account";
@@ -63,8 +95,8 @@ public class ProfileService {
                 "<p>If the button doesn't work, copy and paste this link into your browser:</p>" +
                 "<p><a href=\"" + activationLink + "\">" + activationLink + "</a></p>";
 
-        // Send activation email
-        emailService.sendEmail(newProfile.getEmail(), subject, body);
+        // Queue activation email (sent asynchronously with retries)
+        emailOutboxService.enqueue(newProfile.getEmail(), subject, body);
 
         return toDTO(newProfile);
     }
@@ -94,6 +126,7 @@ public class ProfileService {
                 .fullName(entity.getFullName())
                 .email(entity.getEmail())
                 .profileImageUrl(entity.getProfileImageUrl())
+                .baseCurrency(entity.getBaseCurrency())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -102,35 +135,33 @@ public class ProfileService {
     /**
      * Activates a profile using the provided activation token.
      *
-     * @param activationToken unique token from the email link
+     * @param activationToken signed token from the email link
      * @return true if the profile is successfully activated, false otherwise
+     *
+     * Forged, tampered or expired tokens are rejected without touching the database;
+     * a valid one is a single primary-key update. The cached principal is evicted
+     * so the new active state is seen immediately.
      */
+    @Transactional
     public boolean activateProfile(String activationToken) {
-        return profileRepository.findByActivationToken(activationToken)
-                .map(profile -> {
-                    profile.setIsActive(true);
-                    profileRepository.save(profile);
-                    return true;
-                }).orElse(false);
-    }
-
-    /**
-     * Checks if a user's account is active based on their email.
-     */
-    public boolean isAccountActive(String email) {
-        return profileRepository.findByEmail(email)
-                .map(ProfileEntity::getIsActive)
-                .orElse(false);
+        Optional<Long> profileId = activationTokenUtil.verify(activationToken);
+        if (profileId.isEmpty()) {
+            return false;
+        }
+        if (profileRepository.activateById(profileId.get()) == 0) {
+            return false; // purged after the link expired
+        }
+        profileRepository.findEmailById(profileId.get()).ifPresent(principalCache::evict);
+        return true;
     }
 
     /**
-     * Retrieves the currently authenticated user's profile entity
-     * from the Spring Security context.
+     * Retrieves the currently authenticated user's profile entity.
+     * Loaded at most once per request through {@link CurrentProfile}; services that only
+     * need a foreign key should use {@link CurrentProfile#getReference()} instead.
      */
     public ProfileEntity getCurrentProfile() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return profileRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("Profile Not Found with email: " + authentication.getName()));
+        return currentProfile.get();
     }
 
     /**
@@ -139,6 +170,7 @@ public class ProfileService {
      * @param email optional email parameter (if null, returns the current user's profile)
      * @return ProfileDTO representing the profile information
      */
+    @Transactional(readOnly = true)
     public ProfileDTO getPublicProfile(String email) {
         ProfileEntity currentUser;
 
@@ -149,28 +181,113 @@ public class ProfileService {
                     .orElseThrow(() -> new UsernameNotFoundException("Profile Not Found with email: " + email));
         }
 
+        return toPublicProfile(currentUser);
+    }
+
+    /**
+     * Retrieves the public profile of the given profile id.
+     * Doesn't use the request-scoped {@link CurrentProfile}, so it can run on any thread.
+     */
+    @Transactional(readOnly = true)
+    public ProfileDTO getPublicProfile(Long profileId) {
+        ProfileEntity profile = profileRepository.findById(profileId)
+                .orElseThrow(() -> new UsernameNotFoundException("Profile Not Found with id: " + profileId));
+        return toPublicProfile(profile);
+    }
+
+    /**
+     * Builds the public profile DTO from an already loaded entity (never includes the password hash).
+     */
+    private ProfileDTO toPublicProfile(ProfileEntity currentUser) {
         return ProfileDTO.builder()
                 .Id(currentUser.getId())
                 .fullName(currentUser.getFullName())
                 .email(currentUser.getEmail())
-                .password(currentUser.getPassword())
                 .profileImageUrl(currentUser.getProfileImageUrl())
+                .baseCurrency(currentUser.getBaseCurrency())
                 .createdAt(currentUser.getCreatedAt())
                 .updatedAt(currentUser.getUpdatedAt())
                 .build();
     }
 
+    /**
+     * Changes the current user's base currency. Existing amounts keep their own currency;
+     * dashboards convert them into the new base from the next request on.
+     * Budget limits are in the base currency, so they are converted at today's rate in the same transaction.
+     */
+    @Transactional
+    public String updateBaseCurrency(String currency) {
+        String code = validCurrency(currency);
+        Long profileId = currentProfile.getId();
+        String previous = profileRepository.findBaseCurrencyById(profileId).orElse(code);
+        if (!previous.equals(code) && fxRateTable.isSupported(previous)) {
+            int from = fxRateTable.indexOf(previous);
+            int to = fxRateTable.indexOf(code);
+            LocalDate today = LocalDate.now();
+            for (BudgetEntity budget : budgetRepository.findByProfileId(profileId)) {
+                long limit = fxRateTable.convert(MonthlySummaryService.toMinorUnits(budget.getAmount()), from, to, today);
+                budget.setAmount(BigDecimal.valueOf(Math.max(limit, 1), 2)); // never rounds a limit down to zero
+            }
+        }
+        profileRepository.updateBaseCurrency(profileId, code);
+        // dropped after commit so a concurrent reload can't cache the old currency and limits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                baseCurrencyCache.evict(profileId);
+                budgetTracker.evict(profileId);
+            }
+        });
+        return code;
+    }
+
+    private String validCurrency(String currency) {
+        String code = currency == null ? null : currency.trim().toUpperCase(Locale.ROOT);
+        if (!fxRateTable.isSupported(code)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported currency: " + currency);
+        }
+        return code;
+    }
+
+    /**
+     * Revokes every JWT issued so far for the current user (e.g. "log out everywhere").
+     * In both the default and stateless auth modes, this node rejects them from the next request on;
+     * other nodes within app.security.token-version.ttl (see TokenVersionRegistry).
+     */
+    public void revokeAllTokens() {
+        tokenVersionRegistry.revokeAll(currentProfile.getId());
+    }
+
+    /**
+     * Login pipeline: loads the profile once and reuses it for every step.
+     *
+     * 1. One findByEmail; the result primes the principal cache
+     * 2. The AuthenticationManager resolves the user from that cache entry, rejects inactive
+     *    accounts through UserDetails#isEnabled (DisabledException) and checks the password
+     * 3. The JWT and the public profile are built from the same entity
+     *
+     * @throws DisabledException if the account has not been activated yet
+     */
     public Map<String, Object> auntenticateUserAndGenerateToken(AuthDTO authDTO) {
-        try{
+        ProfileEntity profile = profileRepository.findByEmail(authDTO.getEmail()).orElse(null);
+        if (profile != null) {
+            principalCache.put(CachedPrincipal.of(profile));
+        }
+
+        try {
+            // unknown emails still go through the provider, so they cost the same BCrypt work as real ones
             authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(authDTO.getEmail(), authDTO.getPassword())); // here i just authenticate theb user
-            // i have to genereate the token from JWT
-            String token = jwtUtil.generateToken(authDTO.getEmail());
-            return Map.of(
-                    "token", token,
-                    "user", getPublicProfile(authDTO.getEmail())
-            );
-        } catch (Exception e) {
+        } catch (DisabledException e) {
+            throw e;
+        } catch (AuthenticationException e) {
             throw new RuntimeException("Invalid email and password");
         }
+
+        // the token carries the profile id and token version so the stateless auth mode can skip the lookup
+        String token = jwtUtil.generateToken(profile);
+        return Map.of(
+                "token", token,
+                "user", toPublicProfile(profile)
+        );
     }
 }
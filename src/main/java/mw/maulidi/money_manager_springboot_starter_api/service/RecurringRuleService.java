@@ -0,0 +1,133 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.RecurringRuleDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurringRuleEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.RecurringRuleRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RecurringRuleService
+ * ----------------------
+ * Creates, lists and stops the authenticated user's recurring incomes and expenses.
+ * Posting the occurrences is RecurringTransactionScheduler's job.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringRuleService {
+
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final CategoryRepository categoryRepository;
+    private final CurrentProfile currentProfile;
+    private final BaseCurrencyCache baseCurrencyCache;
+    private final FxRateTable fxRateTable;
+
+    /**
+     * Creates a rule. The type comes from the category; a start date in the past is caught up on the next run.
+     */
+    public RecurringRuleDTO createRule(RecurringRuleDTO ruleDTO) {
+        Long profileId = currentProfile.getId();
+        validate(ruleDTO);
+        CategoryEntity category = categoryRepository.findByIdAndProfile_Id(ruleDTO.getCategoryId(), profileId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
+
+        LocalDate startDate = ruleDTO.getStartDate() != null ? ruleDTO.getStartDate() : LocalDate.now();
+        if (ruleDTO.getEndDate() != null && ruleDTO.getEndDate().isBefore(startDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must not be before the start date");
+        }
+
+        RecurringRuleEntity rule = RecurringRuleEntity.builder()
+                .profileId(profileId)
+                .categoryId(category.getId())
+                .name(ruleDTO.getName())
+                .description(ruleDTO.getDescription())
+                .icon(ruleDTO.getIcon())
+                .type(category.getType().toUpperCase())
+                .amount(ruleDTO.getAmount().setScale(2, RoundingMode.UNNECESSARY))
+                .currency(ruleDTO.getCurrency() != null
+                        ? ruleDTO.getCurrency().toUpperCase(Locale.ROOT)
+                        : baseCurrencyCache.get(profileId))
+                .frequency(ruleDTO.getFrequency())
+                .intervalCount(ruleDTO.getInterval() != null ? ruleDTO.getInterval() : 1)
+                .startDate(startDate)
+                .endDate(ruleDTO.getEndDate())
+                .nextRunDate(startDate)
+                .occurrenceCount(0)
+                .active(true)
+                .build();
+        return toDTO(recurringRuleRepository.save(rule));
+    }
+
+    public List<RecurringRuleDTO> getRules() {
+        return recurringRuleRepository.findByProfileIdOrderById(currentProfile.getId()).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Stops a rule. Occurrences already posted stay in the ledger.
+     */
+    @Transactional
+    public void deactivateRule(Long id) {
+        RecurringRuleEntity rule = recurringRuleRepository.findByIdAndProfileId(id, currentProfile.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recurring rule not found"));
+        rule.setActive(false);
+    }
+
+    private void validate(RecurringRuleDTO ruleDTO) {
+        if (ruleDTO.getName() == null || ruleDTO.getName().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Name is required");
+        }
+        if (ruleDTO.getAmount() == null || ruleDTO.getAmount().signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        }
+        if (ruleDTO.getAmount().stripTrailingZeros().scale() > 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount can have at most 2 decimal places");
+        }
+        if (ruleDTO.getCategoryId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category is required");
+        }
+        if (ruleDTO.getCurrency() != null && !fxRateTable.isSupported(ruleDTO.getCurrency().toUpperCase(Locale.ROOT))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported currency: " + ruleDTO.getCurrency());
+        }
+        if (ruleDTO.getFrequency() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Frequency is required");
+        }
+        if (ruleDTO.getInterval() != null && ruleDTO.getInterval() < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Interval must be at least 1");
+        }
+    }
+
+    private RecurringRuleDTO toDTO(RecurringRuleEntity entity) {
+        return RecurringRuleDTO.builder()
+                .id(entity.getId())
+                .categoryId(entity.getCategoryId())
+                .name(entity.getName())
+                .description(entity.getDescription())
+                .icon(entity.getIcon())
+                .type(entity.getType())
+                .amount(entity.getAmount())
+                .currency(entity.getCurrency())
+                .frequency(entity.getFrequency())
+                .interval(entity.getIntervalCount())
+                .startDate(entity.getStartDate())
+                .endDate(entity.getEndDate())
+                .nextRunDate(entity.getNextRunDate())
+                .active(entity.getActive())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
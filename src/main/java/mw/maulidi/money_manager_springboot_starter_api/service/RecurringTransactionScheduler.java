@@ -0,0 +1,150 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurringRuleEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.RecurringRuleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Posts due occurrences of recurring rules to the ledger.
+ * -------------------------------------------------------
+ * - Claims due rules in chunks (SELECT ... FOR UPDATE SKIP LOCKED), one transaction per chunk,
+ *   so several nodes can run it at once and every occurrence is posted exactly once
+ * - Advancing a rule and posting its occurrences commit together; a crash rolls back both
+ * - Rule updates are flushed first, then the occurrences go through TransactionBatchWriter
+ *   (JDBC-batched inserts, one summary upsert per key)
+ * - Occurrences missed while the app was down are caught up, at most
+ *   app.recurring.max-catch-up occurrences per rule per claim
+ *
+ * Only portable JPQL is used, so {@link #materializeDue(LocalDate)} can be driven against an embedded database.
+ */
+@Slf4j
+@Service
+public class RecurringTransactionScheduler {
+
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter postedCounter;
+    private final Timer runTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.recurring.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.recurring.max-catch-up:400}")
+    private int maxCatchUp;
+
+    public RecurringTransactionScheduler(RecurringRuleRepository recurringRuleRepository,
+                                         TransactionBatchWriter transactionBatchWriter,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry) {
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postedCounter = meterRegistry.counter("recurring.transactions.posted");
+        this.runTimer = meterRegistry.timer("recurring.run");
+    }
+
+    @Scheduled(fixedDelayString = "${app.recurring.poll-interval-ms:60000}")
+    public void run() {
+        runTimer.record(() -> materializeDue(LocalDate.now()));
+    }
+
+    /**
+     * Posts every occurrence dated on or before today, chunk by chunk, until no due rules are left.
+     *
+     * @return number of transactions posted by this node
+     */
+    public int materializeDue(LocalDate today) {
+        int total = 0;
+        int claimed;
+        do {
+            int[] chunk = transactionTemplate.execute(status -> materializeChunk(today));
+            claimed = chunk[0];
+            total += chunk[1];
+        } while (claimed == chunkSize);
+
+        if (total > 0) {
+            log.info("Posted {} recurring transactions due by {}", total, today);
+        }
+        return total;
+    }
+
+    /** @return {rules claimed, transactions posted} */
+    private int[] materializeChunk(LocalDate today) {
+        List<RecurringRuleEntity> rules = recurringRuleRepository.findDueForMaterialization(today, Limit.of(chunkSize));
+        if (rules.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (RecurringRuleEntity rule : rules) {
+            int posted = 0;
+            while (rule.getActive() && !rule.getNextRunDate().isAfter(today) && posted < maxCatchUp) {
+                occurrences.add(new Occurrence(rule, rule.getNextRunDate()));
+                advance(rule);
+                posted++;
+            }
+        }
+        // flush the (batched) rule updates now: the batch writer clears the persistence context as it goes
+        entityManager.flush();
+
+        try (TransactionBatchWriter.Batch batch = transactionBatchWriter.open()) {
+            for (Occurrence occurrence : occurrences) {
+                batch.add(toTransaction(occurrence));
+            }
+        }
+        postedCounter.increment(occurrences.size());
+        return new int[]{rules.size(), occurrences.size()};
+    }
+
+    /** Moves the rule to its next occurrence, deactivating it once past its end date. */
+    private static void advance(RecurringRuleEntity rule) {
+        int count = rule.getOccurrenceCount() + 1;
+        LocalDate next = rule.getFrequency().occurrence(rule.getStartDate(), count, rule.getIntervalCount());
+        rule.setOccurrenceCount(count);
+        rule.setNextRunDate(next);
+        if (rule.getEndDate() != null && next.isAfter(rule.getEndDate())) {
+            rule.setActive(false);
+        }
+    }
+
+    private TransactionEntity toTransaction(Occurrence occurrence) {
+        RecurringRuleEntity rule = occurrence.rule();
+        return TransactionEntity.builder()
+                .profile(entityManager.getReference(ProfileEntity.class, rule.getProfileId()))
+                .category(entityManager.getReference(CategoryEntity.class, rule.getCategoryId()))
+                .name(rule.getName())
+                .description(rule.getDescription())
+                .icon(rule.getIcon())
+                .type(rule.getType())
+                .amount(rule.getAmount())
+                .currency(rule.getCurrency())
+                .date(occurrence.date())
+                .build();
+    }
+
+    // the rule may be detached by the time it is read here; only its loaded columns are used
+    private record Occurrence(RecurringRuleEntity rule, LocalDate date) {
+    }
+}
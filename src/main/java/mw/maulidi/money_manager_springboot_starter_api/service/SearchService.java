@@ -0,0 +1,122 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.SearchResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.repository.SearchRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.SearchRepository.SearchHit;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SearchService
+ * ----------------------
+ * "Search my spending": prefix search over the user's category names/descriptions and
+ * transaction names/descriptions, ranked by MySQL FULLTEXT relevance.
+ *
+ * - Every word of the input must match the start of a word ("gro sup" finds "Groceries, Super Save")
+ *   and be at least {@value #MIN_TERM_LENGTH} characters long (innodb_ft_min_token_size): shorter
+ *   prefixes aren't dropped by boolean mode and would expand to a large share of the index
+ * - The profile token keeps other users' rows out of the ranking and the results, but each prefix is
+ *   still expanded over every user's words, so latency grows with how common the prefix is across
+ *   all profiles, not only with the user's own matches
+ * - Ranked results can't be seeked, so pages are offsets (the cursor is opaque to clients) and
+ *   depth is capped at {@value #MAX_RESULTS} results
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_RESULTS = 500;
+    public static final int MIN_TERM_LENGTH = 3;
+    private static final int MAX_TERMS = 8;
+
+    private final SearchRepository searchRepository;
+    private final CurrentProfile currentProfile;
+
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<SearchResultDTO> search(String text, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = decodeCursor(cursor);
+        List<String> terms = terms(text);
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search text is required");
+        }
+        if (terms.stream().anyMatch(term -> term.codePointCount(0, term.length()) < MIN_TERM_LENGTH)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Search words must be at least " + MIN_TERM_LENGTH + " characters long");
+        }
+        if (offset >= MAX_RESULTS) {
+            return KeysetPageDTO.<SearchResultDTO>builder().items(List.of()).hasMore(false).build();
+        }
+
+        Long profileId = currentProfile.getId();
+        StringBuilder query = new StringBuilder("+profile").append(profileId);
+        for (String term : terms) {
+            query.append(" +").append(term).append('*');
+        }
+
+        // fetch one extra row to know whether another page exists
+        int limit = Math.min(pageSize, MAX_RESULTS - offset);
+        List<SearchHit> hits = searchRepository.search(profileId, query.toString(), limit + 1, offset);
+        boolean hasMore = hits.size() > limit && offset + limit < MAX_RESULTS;
+        List<SearchHit> page = hits.size() > limit ? hits.subList(0, limit) : hits;
+
+        return KeysetPageDTO.<SearchResultDTO>builder()
+                .items(page.stream().map(SearchService::toDTO).toList())
+                .nextCursor(hasMore ? String.valueOf(offset + limit) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Splits the input into lower-case words of letters and digits; everything else
+     * (including boolean-mode operators) is a separator.
+     */
+    private static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(cursor));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static SearchResultDTO toDTO(SearchHit hit) {
+        return SearchResultDTO.builder()
+                .kind(hit.getKind())
+                .id(hit.getId())
+                .name(hit.getName())
+                .description(hit.getDescription())
+                .type(hit.getType())
+                .amount(hit.getAmount())
+                .currency(hit.getCurrency())
+                .date(hit.getDate())
+                .score(hit.getScore())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by MonthlySummaryService when a write changes expense totals; a bulk write
+ * (import, recurring batch) publishes one event covering every profile it touched.
+ * Delivered to listeners after the transaction commits.
+ *
+ * @param changes by profile id, one entry per (month, category); amounts are negative for removals
+ */
+public record SpendingRecordedEvent(Map<Long, List<Change>> changes) {
+
+    public record Change(int periodMonth, Long categoryId, String currency, BigDecimal amount) {
+    }
+}
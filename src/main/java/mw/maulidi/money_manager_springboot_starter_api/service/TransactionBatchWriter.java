@@ -0,0 +1,74 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes large numbers of transactions with JDBC batching.
+ * -------------------------------------------------------
+ * Entities are persisted into the current transaction and flushed every
+ * hibernate.jdbc.batch_size rows, then the persistence context is cleared
+ * so memory stays flat however many rows are written.
+ *
+ * Monthly summary deltas are aggregated in memory and applied once per
+ * (month, category, type) key when the batch is closed.
+ *
+ * Must be used inside an existing transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+
+    private final MonthlySummaryService monthlySummaryService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    public Batch open() {
+        return new Batch();
+    }
+
+    /**
+     * One bulk write. Close it (try-with-resources) to flush the last partial batch.
+     */
+    public class Batch implements AutoCloseable {
+
+        private final MonthlySummaryService.Deltas summaryDeltas = new MonthlySummaryService.Deltas();
+        private int pending;
+        private int written;
+
+        public void add(TransactionEntity transaction) {
+            entityManager.persist(transaction);
+            summaryDeltas.add(transaction);
+            written++;
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        private void flush() {
+            entityManager.flush();
+            entityManager.clear();
+            pending = 0;
+        }
+
+        @Override
+        public void close() {
+            if (pending > 0) {
+                flush();
+            }
+            monthlySummaryService.applyAll(summaryDeltas);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.TransactionExportRow;
+import mw.maulidi.money_manager_springboot_starter_api.repository.TransactionRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * TransactionExportService
+ * ----------------------
+ * Exports a user's full history with flat memory use, whatever the number of rows:
+ *
+ * - Rows come from a forward-only, streaming query (see TransactionRepository#streamForExport)
+ * - Expenses come first, then incomes, each in date order: the order the listing index already has
+ * - XLSX is written with SXSSFWorkbook, which keeps only a small window of rows in memory
+ * - CSV is written straight to the response (the fastest path)
+ *
+ * The returned StreamingResponseBody writes directly to the servlet output stream on an async thread,
+ * so the profile id is resolved up front and the query runs in its own read-only transaction.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String[] HEADER = {"date", "type", "category", "name", "description", "amount", "currency"};
+
+    private final TransactionRepository transactionRepository;
+    private final CurrentProfile currentProfile;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.export.xlsx.row-window:100}")
+    private int rowWindow;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    CurrentProfile currentProfile,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.currentProfile = currentProfile;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportCsv() {
+        Long profileId = currentProfile.getId();
+        return outputStream -> streamRows(profileId, rows -> writeCsv(rows, outputStream));
+    }
+
+    public StreamingResponseBody exportXlsx() {
+        Long profileId = currentProfile.getId();
+        return outputStream -> streamRows(profileId, rows -> writeXlsx(rows, outputStream));
+    }
+
+    /**
+     * Opens the streaming query in a read-only transaction and hands the rows to the writer.
+     */
+    private void streamRows(Long profileId, RowWriter writer) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TransactionExportRow> rows = transactionRepository.streamForExport(profileId)) {
+                    writer.write(rows);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsv(Stream<TransactionExportRow> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(String.join(",", HEADER));
+        writer.write("\r\n");
+
+        for (TransactionExportRow row : (Iterable<TransactionExportRow>) rows::iterator) {
+            writer.write(row.getDate().toString());
+            writer.write(',');
+            writer.write(csv(row.getType()));
+            writer.write(',');
+            writer.write(csv(row.getCategoryName()));
+            writer.write(',');
+            writer.write(csv(row.getName()));
+            writer.write(',');
+            writer.write(csv(row.getDescription()));
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getCurrency());
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private void writeXlsx(Stream<TransactionExportRow> rows, OutputStream outputStream) throws IOException {
+        // only rowWindow rows are kept in memory, older ones are flushed to a compressed temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("Transactions");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("#,##0.00"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADER.length; i++) {
+                header.createCell(i).setCellValue(HEADER[i]);
+            }
+
+            int rowIndex = 1;
+            for (TransactionExportRow row : (Iterable<TransactionExportRow>) rows::iterator) {
+                Row excelRow = sheet.createRow(rowIndex++);
+                Cell dateCell = excelRow.createCell(0);
+                dateCell.setCellValue(row.getDate());
+                dateCell.setCellStyle(dateStyle);
+                excelRow.createCell(1).setCellValue(row.getType());
+                excelRow.createCell(2).setCellValue(row.getCategoryName());
+                excelRow.createCell(3).setCellValue(row.getName());
+                excelRow.createCell(4).setCellValue(row.getDescription());
+                Cell amountCell = excelRow.createCell(5);
+                amountCell.setCellValue(row.getAmount().doubleValue()); // Excel stores numbers as doubles
+                amountCell.setCellStyle(amountStyle);
+                excelRow.createCell(6).setCellValue(row.getCurrency());
+            }
+
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.dispose(); // delete the temp files backing the flushed rows
+            workbook.close();
+        }
+    }
+
+    /** Quotes a CSV field when needed (RFC 4180). */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Stream<TransactionExportRow> rows) throws IOException;
+    }
+}
@@ -0,0 +1,212 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.ImportResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import mw.maulidi.money_manager_springboot_starter_api.utils.TabularFileReader;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * TransactionImportService
+ * ----------------------
+ * Bulk-imports incomes and expenses from CSV or XLSX spreadsheets.
+ *
+ * - Rows are streamed one at a time (see {@link TabularFileReader}), never held in memory
+ * - Category names are resolved against the user's categories once per import
+ * - Rows are inserted in JDBC batches through {@link TransactionBatchWriter}
+ *
+ * The first row must be a header. Required columns: date, category, amount.
+ * Optional columns: name, description, currency (defaults to the base currency).
+ * The transaction type comes from the category.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final CategoryRepository categoryRepository;
+    private final ProfileRepository profileRepository;
+    private final CurrentProfile currentProfile;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final BaseCurrencyCache baseCurrencyCache;
+    private final FxRateTable fxRateTable;
+
+    /**
+     * Imports every valid row of the uploaded file in one transaction.
+     * Invalid rows are skipped and reported, they don't abort the import.
+     */
+    @Transactional
+    public ImportResultDTO importTransactions(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is required");
+        }
+
+        Long profileId = currentProfile.getId();
+        Map<String, CategoryEntity> categories = new HashMap<>();
+        for (CategoryEntity category : categoryRepository.findByProfile_Id(profileId)) {
+            categories.put(normalize(category.getName()), category);
+        }
+
+        ImportResultDTO result = ImportResultDTO.builder().errors(new ArrayList<>()).build();
+
+        try (TransactionBatchWriter.Batch batch = transactionBatchWriter.open()) {
+            RowImporter importer = new RowImporter(profileId, baseCurrencyCache.get(profileId), categories, batch, result);
+            String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+
+            if (filename.endsWith(".xlsx")) {
+                readXlsx(file, importer);
+            } else if (filename.endsWith(".csv") || "text/csv".equals(file.getContentType())) {
+                try (InputStream inputStream = file.getInputStream()) {
+                    TabularFileReader.readCsv(inputStream, importer);
+                }
+            } else {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only .csv and .xlsx files are supported");
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read file: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * The SAX reader needs random access to the zip, so the upload is spooled to a temp file first.
+     */
+    private void readXlsx(MultipartFile file, RowImporter importer) throws IOException {
+        File tempFile = Files.createTempFile("import-", ".xlsx").toFile();
+        try {
+            file.transferTo(tempFile);
+            TabularFileReader.readXlsx(tempFile, importer);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Maps header names to column positions, then turns each data row into a TransactionEntity.
+     */
+    private class RowImporter implements TabularFileReader.RowHandler {
+
+        private final Long profileId;
+        private final String baseCurrency;
+        private final Map<String, CategoryEntity> categories;
+        private final TransactionBatchWriter.Batch batch;
+        private final ImportResultDTO result;
+        private Map<String, Integer> columns;
+
+        private RowImporter(Long profileId,
+                            String baseCurrency,
+                            Map<String, CategoryEntity> categories,
+                            TransactionBatchWriter.Batch batch,
+                            ImportResultDTO result) {
+            this.profileId = profileId;
+            this.baseCurrency = baseCurrency;
+            this.categories = categories;
+            this.batch = batch;
+            this.result = result;
+        }
+
+        @Override
+        public void row(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = readHeader(cells);
+                return;
+            }
+            try {
+                batch.add(toEntity(cells));
+                result.setImported(result.getImported() + 1);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                result.setSkipped(result.getSkipped() + 1);
+                if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                    result.getErrors().add("Row " + rowNumber + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private Map<String, Integer> readHeader(List<String> cells) {
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                header.put(normalize(cells.get(i)), i);
+            }
+            for (String required : List.of("date", "category", "amount")) {
+                if (!header.containsKey(required)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing required column: " + required);
+                }
+            }
+            return header;
+        }
+
+        private TransactionEntity toEntity(List<String> cells) {
+            String categoryName = cell(cells, "category");
+            CategoryEntity category = categories.get(normalize(categoryName));
+            if (category == null) {
+                throw new IllegalArgumentException("Unknown category '" + categoryName + "'");
+            }
+
+            BigDecimal amount = new BigDecimal(cell(cells, "amount").replace(",", ""));
+            if (amount.signum() <= 0 || amount.stripTrailingZeros().scale() > 2) {
+                throw new IllegalArgumentException("Invalid amount '" + cell(cells, "amount") + "'");
+            }
+
+            String currency = cell(cells, "currency").toUpperCase(Locale.ROOT);
+            if (currency.isEmpty()) {
+                currency = baseCurrency;
+            } else if (!fxRateTable.isSupported(currency)) {
+                throw new IllegalArgumentException("Unsupported currency '" + currency + "'");
+            }
+
+            String name = cell(cells, "name");
+            return TransactionEntity.builder()
+                    .name(name.isEmpty() ? category.getName() : name)
+                    .description(emptyToNull(cell(cells, "description")))
+                    .icon(category.getIcon())
+                    .type(category.getType().toUpperCase(Locale.ROOT))
+                    .amount(amount.setScale(2))
+                    .currency(currency)
+                    .date(LocalDate.parse(cell(cells, "date")))
+                    // references only: no SELECT, and still valid after the batch clears the persistence context
+                    .category(categoryRepository.getReferenceById(category.getId()))
+                    .profile(profileRepository.getReferenceById(profileId))
+                    .build();
+        }
+
+        private String cell(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size() || cells.get(index) == null) {
+                return "";
+            }
+            return cells.get(index).trim();
+        }
+
+        private String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
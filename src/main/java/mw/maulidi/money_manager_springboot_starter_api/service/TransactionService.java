@@ -0,0 +1,193 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import lombok.RequiredArgsConstructor;
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.TransactionDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.TransactionRepository;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import mw.maulidi.money_manager_springboot_starter_api.utils.KeysetCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * TransactionService
+ * ----------------------
+ * Records incomes and expenses for the authenticated user and lists them
+ * with keyset pagination (newest first).
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryRepository categoryRepository;
+    private final CurrentProfile currentProfile;
+    private final MonthlySummaryService monthlySummaryService;
+    private final BaseCurrencyCache baseCurrencyCache;
+    private final FxRateTable fxRateTable;
+
+    /**
+     * Records a new income or expense. The category must belong to the user and have the same type.
+     */
+    @Transactional
+    public TransactionDTO addTransaction(CategoryType type, TransactionDTO transactionDTO) {
+        validate(transactionDTO);
+        CategoryEntity category = findCategory(type, transactionDTO.getCategoryId());
+
+        TransactionEntity newTransaction = TransactionEntity.builder()
+                .profile(currentProfile.getReference())
+                .build();
+        apply(newTransaction, transactionDTO, category, type);
+        newTransaction = transactionRepository.save(newTransaction);
+        monthlySummaryService.recordAdded(newTransaction);
+
+        return toDTO(newTransaction);
+    }
+
+    /**
+     * Updates one of the user's incomes or expenses.
+     */
+    @Transactional
+    public TransactionDTO updateTransaction(CategoryType type, Long id, TransactionDTO transactionDTO) {
+        validate(transactionDTO);
+        TransactionEntity existing = findTransaction(type, id);
+        CategoryEntity category = findCategory(type, transactionDTO.getCategoryId());
+
+        // move the row's contribution in the monthly summary from its old key/amount to the new one
+        monthlySummaryService.recordRemoved(existing);
+        apply(existing, transactionDTO, category, type);
+        existing = transactionRepository.save(existing);
+        monthlySummaryService.recordAdded(existing);
+
+        return toDTO(existing);
+    }
+
+    /**
+     * Deletes one of the user's incomes or expenses.
+     */
+    @Transactional
+    public void deleteTransaction(CategoryType type, Long id) {
+        TransactionEntity existing = findTransaction(type, id);
+        monthlySummaryService.recordRemoved(existing);
+        transactionRepository.delete(existing);
+    }
+
+    /**
+     * Lists the user's incomes or expenses, newest first.
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @param size   page size (capped at {@value #MAX_PAGE_SIZE})
+     */
+    @Transactional(readOnly = true)
+    public KeysetPageDTO<TransactionDTO> getTransactions(CategoryType type, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Long profileId = currentProfile.getId();
+
+        // fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<TransactionEntity> rows = position == null
+                ? transactionRepository.findFirstPage(profileId, type.name(), limit)
+                : transactionRepository.findPageAfter(profileId, type.name(), position.date(), position.id(), limit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionEntity> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionEntity last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
+        }
+
+        return KeysetPageDTO.<TransactionDTO>builder()
+                .items(page.stream().map(this::toDTO).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private void validate(TransactionDTO transactionDTO) {
+        if (transactionDTO.getName() == null || transactionDTO.getName().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Name is required");
+        }
+        if (transactionDTO.getAmount() == null || transactionDTO.getAmount().signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        }
+        if (transactionDTO.getAmount().stripTrailingZeros().scale() > 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount can have at most 2 decimal places");
+        }
+        if (transactionDTO.getCategoryId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category is required");
+        }
+        if (transactionDTO.getCurrency() != null && !fxRateTable.isSupported(transactionDTO.getCurrency().toUpperCase(Locale.ROOT))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported currency: " + transactionDTO.getCurrency());
+        }
+    }
+
+    private CategoryEntity findCategory(CategoryType type, Long categoryId) {
+        CategoryEntity category = categoryRepository.findByIdAndProfile_Id(categoryId, currentProfile.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
+        if (!type.name().equalsIgnoreCase(category.getType())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category is not of type " + type);
+        }
+        return category;
+    }
+
+    private TransactionEntity findTransaction(CategoryType type, Long id) {
+        return transactionRepository.findByIdAndProfile_Id(id, currentProfile.getId())
+                .filter(transaction -> type.name().equals(transaction.getType()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction not found"));
+    }
+
+    /** Copies the client-editable fields onto the entity. */
+    private void apply(TransactionEntity entity, TransactionDTO transactionDTO, CategoryEntity category, CategoryType type) {
+        entity.setName(transactionDTO.getName());
+        entity.setDescription(transactionDTO.getDescription());
+        entity.setIcon(transactionDTO.getIcon());
+        entity.setAmount(transactionDTO.getAmount().setScale(2, RoundingMode.UNNECESSARY));
+        // no currency given: keep an existing row's, new rows use the base currency
+        if (transactionDTO.getCurrency() != null) {
+            entity.setCurrency(transactionDTO.getCurrency().toUpperCase(Locale.ROOT));
+        } else if (entity.getCurrency() == null) {
+            entity.setCurrency(baseCurrencyCache.get(currentProfile.getId()));
+        }
+        entity.setDate(transactionDTO.getDate() != null ? transactionDTO.getDate() : LocalDate.now());
+        entity.setCategory(category);
+        entity.setType(type.name());
+    }
+
+    /** Converts a TransactionEntity into a TransactionDTO for returning to clients. */
+    private TransactionDTO toDTO(TransactionEntity entity) {
+        return TransactionDTO.builder()
+                .id(entity.getId())
+                .profileId(entity.getProfile() != null ? entity.getProfile().getId() : null)
+                .categoryId(entity.getCategory().getId())
+                .categoryName(entity.getCategory().getName())
+                .name(entity.getName())
+                .description(entity.getDescription())
+                .icon(entity.getIcon())
+                .type(entity.getType())
+                .amount(entity.getAmount())
+                .currency(entity.getCurrency())
+                .date(entity.getDate())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+}
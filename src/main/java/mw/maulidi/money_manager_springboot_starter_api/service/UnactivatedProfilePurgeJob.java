@@ -0,0 +1,81 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository.StaleProfile;
+import mw.maulidi.money_manager_springboot_starter_api.security.PrincipalCache;
+import mw.maulidi.money_manager_springboot_starter_api.utils.ActivationTokenUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes profiles that were never activated and whose activation link has expired.
+ * -------------------------------------------------------
+ * Such accounts can never be activated any more, but they still hold their email in the unique index.
+ *
+ * - Works in chunks of app.profile.purge.chunk-size, one short transaction per chunk,
+ *   so it never holds long locks on tbl_profile
+ * - The delete re-checks is_active, so a profile activated meanwhile is kept
+ * - Safe to run on several nodes at once (deletes are idempotent)
+ */
+@Slf4j
+@Service
+public class UnactivatedProfilePurgeJob {
+
+    private final ProfileRepository profileRepository;
+    private final PrincipalCache principalCache;
+    private final ActivationTokenUtil activationTokenUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter purgedCounter;
+
+    @Value("${app.profile.purge.chunk-size:500}")
+    private int chunkSize;
+
+    public UnactivatedProfilePurgeJob(ProfileRepository profileRepository,
+                                      PrincipalCache principalCache,
+                                      ActivationTokenUtil activationTokenUtil,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.profileRepository = profileRepository;
+        this.principalCache = principalCache;
+        this.activationTokenUtil = activationTokenUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgedCounter = meterRegistry.counter("profile.unactivated.purged");
+    }
+
+    @Scheduled(cron = "${app.profile.purge.cron:0 15 * * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(activationTokenUtil.getTtl());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            total += deleted;
+        } while (deleted == chunkSize);
+
+        if (total > 0) {
+            log.info("Purged {} unactivated profiles created before {}", total, cutoff);
+        }
+    }
+
+    private int purgeChunk(LocalDateTime cutoff) {
+        List<StaleProfile> chunk = profileRepository.findStaleUnactivated(cutoff, Limit.of(chunkSize));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        profileRepository.deleteUnactivatedByIds(chunk.stream().map(StaleProfile::getId).toList());
+        chunk.forEach(profile -> principalCache.evict(profile.getEmail()));
+        purgedCounter.increment(chunk.size());
+        // the chunk size (not the delete count) drives the loop, so profiles activated meanwhile don't stop it early
+        return chunk.size();
+    }
+}
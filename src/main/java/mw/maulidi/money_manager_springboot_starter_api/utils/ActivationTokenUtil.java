@@ -0,0 +1,107 @@
+package mw.maulidi.money_manager_springboot_starter_api.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Self-verifying account activation tokens.
+ * -------------------------------------------------------
+ * Format: {@code <profileId>.<expiresAtEpochSeconds>.<HMAC-SHA256 signature, base64url>}.
+ * Because the token carries the profile id and expiry and is signed, forged, tampered or expired
+ * links are rejected in memory, and a valid one maps straight to a primary-key update.
+ * Nothing is stored per token.
+ */
+@Component
+public class ActivationTokenUtil {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /** Anything longer is not one of ours; rejected before any parsing */
+    private static final int MAX_TOKEN_LENGTH = 128;
+
+    /** HMAC-SHA256 keys shorter than the hash output are weaker than the signature */
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public ActivationTokenUtil(@Value("${app.security.activation.secret}") String secret,
+                               @Value("${app.security.activation.ttl:48h}") Duration ttl) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.security.activation.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = Clock.systemUTC();
+    }
+
+    /** How long a link stays valid; unactivated profiles older than this can be purged. */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Issues a token for a freshly saved profile.
+     */
+    public String generate(Long profileId) {
+        String payload = profileId + "." + clock.instant().plus(ttl).getEpochSecond();
+        return payload + "." + sign(payload);
+    }
+
+    /**
+     * Verifies signature and expiry.
+     *
+     * @return the profile id, or empty when the token is malformed, forged or expired
+     */
+    public Optional<Long> verify(String token) {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH) {
+            return Optional.empty();
+        }
+        int signatureStart = token.lastIndexOf('.');
+        int expiryStart = token.indexOf('.');
+        if (expiryStart <= 0 || signatureStart <= expiryStart) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) { // constant time
+            return Optional.empty();
+        }
+
+        try {
+            long profileId = Long.parseLong(token.substring(0, expiryStart));
+            long expiresAt = Long.parseLong(token.substring(expiryStart + 1, signatureStart));
+            if (clock.instant().getEpochSecond() > expiresAt) {
+                return Optional.empty();
+            }
+            return Optional.of(profileId);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM); // Mac is not thread-safe, and a new instance is cheap next to the request
+            mac.init(key);
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
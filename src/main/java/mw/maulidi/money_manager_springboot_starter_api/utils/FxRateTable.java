@@ -0,0 +1,169 @@
+package mw.maulidi.money_manager_springboot_starter_api.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory FX rate table for converting amounts between currencies, loaded once from a local file.
+ * -------------------------------------------------------
+ * The file (app.fx.rates-location) has a "date,currency,rate" header, one quote per line, where
+ * rate is the number of currency units per 1 unit of the pivot currency (app.fx.pivot-currency).
+ *
+ * - Rates are stored as scaled longs ({@link #RATE_SCALE}) in one array per currency, indexed by day,
+ *   with gaps (weekends, holidays) filled from the previous quote
+ * - Dates before the first quote use the first quote, dates after the last use the last
+ * - Conversions work on minor units (cents) with long arithmetic and round half up;
+ *   BigInteger is only used if an intermediate product overflows a long
+ *
+ * Resolve a currency to its index once ({@link #indexOf(String)}) and convert with the index
+ * inside loops, so aggregating many rows allocates nothing.
+ */
+@Slf4j
+@Component
+public class FxRateTable {
+
+    /** Rates are stored multiplied by this factor (6 decimal places) */
+    public static final long RATE_SCALE = 1_000_000L;
+
+    private final Map<String, Integer> currencyIndex;
+    private final long firstDay;
+    private final long[][] rates;
+
+    public FxRateTable(@Value("${app.fx.rates-location:classpath:fx/rates.csv}") Resource location,
+                       @Value("${app.fx.pivot-currency:USD}") String pivotCurrency) throws IOException {
+        Map<String, TreeMap<Long, Long>> quotes = new HashMap<>();
+        quotes.put(pivotCurrency, new TreeMap<>());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("date,")) {
+                    continue;
+                }
+                String[] cells = line.split(",");
+                if (cells.length != 3) {
+                    throw new IllegalStateException("Invalid FX rate at line " + lineNumber + " of " + location);
+                }
+                long day = LocalDate.parse(cells[0].trim()).toEpochDay();
+                long rate = new BigDecimal(cells[2].trim()).movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                quotes.computeIfAbsent(cells[1].trim().toUpperCase(Locale.ROOT), code -> new TreeMap<>()).put(day, rate);
+            }
+        }
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (TreeMap<Long, Long> byDay : quotes.values()) {
+            if (!byDay.isEmpty()) {
+                first = Math.min(first, byDay.firstKey());
+                last = Math.max(last, byDay.lastKey());
+            }
+        }
+        if (first == Long.MAX_VALUE) {
+            first = last = LocalDate.now().toEpochDay(); // only the pivot currency
+        }
+        int days = Math.toIntExact(last - first + 1);
+
+        Map<String, Integer> index = new HashMap<>();
+        long[][] table = new long[quotes.size()][];
+        for (Map.Entry<String, TreeMap<Long, Long>> entry : quotes.entrySet()) {
+            long[] series = new long[days];
+            TreeMap<Long, Long> byDay = entry.getValue();
+            if (byDay.isEmpty()) {
+                Arrays.fill(series, RATE_SCALE); // the pivot currency
+            } else {
+                long rate = byDay.firstEntry().getValue();
+                for (int i = 0; i < days; i++) {
+                    Long quote = byDay.get(first + i);
+                    if (quote != null) {
+                        rate = quote;
+                    }
+                    series[i] = rate;
+                }
+            }
+            index.put(entry.getKey(), index.size());
+            table[index.get(entry.getKey())] = series;
+        }
+
+        this.currencyIndex = Collections.unmodifiableMap(index);
+        this.firstDay = first;
+        this.rates = table;
+        log.info("Loaded FX rates for {} currencies from {} to {}",
+                index.size(), LocalDate.ofEpochDay(first), LocalDate.ofEpochDay(last));
+    }
+
+    public boolean isSupported(String currency) {
+        return currency != null && currencyIndex.containsKey(currency);
+    }
+
+    public Set<String> getCurrencies() {
+        return currencyIndex.keySet();
+    }
+
+    /**
+     * @throws IllegalArgumentException for a currency with no rates
+     */
+    public int indexOf(String currency) {
+        Integer index = currencyIndex.get(currency);
+        if (index == null) {
+            throw new IllegalArgumentException("Unsupported currency: " + currency);
+        }
+        return index;
+    }
+
+    /**
+     * Converts an amount in minor units from one currency to another at the given day's rates.
+     */
+    public long convert(long minorUnits, int fromCurrency, int toCurrency, long epochDay) {
+        if (fromCurrency == toCurrency || minorUnits == 0) {
+            return minorUnits;
+        }
+        return mulDiv(minorUnits, rate(toCurrency, epochDay), rate(fromCurrency, epochDay));
+    }
+
+    public long convert(long minorUnits, int fromCurrency, int toCurrency, LocalDate date) {
+        return convert(minorUnits, fromCurrency, toCurrency, date.toEpochDay());
+    }
+
+    private long rate(int currency, long epochDay) {
+        long[] series = rates[currency];
+        long offset = Math.max(0, Math.min(epochDay - firstDay, series.length - 1));
+        return series[(int) offset];
+    }
+
+    /** a * b / c rounded half up (away from zero); c must be positive. */
+    static long mulDiv(long a, long b, long c) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            long quotient = low / c;
+            long remainder = Math.abs(low % c);
+            if (remainder >= c - remainder) {
+                quotient += Long.signum(low);
+            }
+            return quotient;
+        }
+        return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                .divide(BigDecimal.valueOf(c), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
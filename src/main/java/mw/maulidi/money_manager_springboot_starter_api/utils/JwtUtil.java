@@ -1,31 +1,84 @@
 package mw.maulidi.money_manager_springboot_starter_api.utils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for generating and validating JWT tokens.
  * It uses the io.jsonwebtoken (jjwt) library for signing and parsing tokens.
+ * Signing and parsing are timed ("auth.jwt.sign", "auth.jwt.parse"); rejected tokens are counted ("auth.jwt.invalid").
+ * The HMAC key (app.security.jwt.secret) has no default: anyone holding it can mint tokens for any
+ * profile, which the stateless mode accepts without a database lookup.
  */
 @Component
 public class JwtUtil {
 
-    /** Secret key for signing JWTs (should ideally come from application properties) */
-    private static final String SECRET_KEY = "your_super_secret_jwt_key_1234567890!@#$%^&*()_+";
+    /** HS256 needs a key of at least 256 bits */
+    private static final int MIN_SECRET_BYTES = 32;
 
     /** Token expiration time (1 day = 24 hours * 60 minutes * 60 seconds * 1000 ms) */
     private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000; // 24 hours
 
-    private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    /** Claim holding the profile's primary key (used by the stateless auth mode) */
+    public static final String PROFILE_ID_CLAIM = "pid";
+
+    /** Claim holding the profile's token version at issue time (used for revocation) */
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final Key key;
+
+    /** Parsers are immutable and thread-safe, so one instance is built and reused for every request */
+    private final JwtParser parser;
+
+    private final Timer signTimer;
+    private final Timer parseTimer;
+    private final Counter invalidCounter;
+
+    public JwtUtil(@Value("${app.security.jwt.secret}") String secret, MeterRegistry meterRegistry) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.security.jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = Keys.hmacShaKeyFor(secretBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.signTimer = Timer.builder("auth.jwt.sign").register(meterRegistry);
+        this.parseTimer = Timer.builder("auth.jwt.parse").register(meterRegistry);
+        this.invalidCounter = Counter.builder("auth.jwt.invalid").register(meterRegistry);
+    }
+
+    /**
+     * Generates a JWT token for the given profile, embedding its id and token version
+     * so the request filter can authenticate without loading the profile.
+     *
+     * @param profile the authenticated profile
+     * @return a signed JWT string
+     */
+    public String generateToken(ProfileEntity profile) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(PROFILE_ID_CLAIM, profile.getId());
+        claims.put(TOKEN_VERSION_CLAIM, profile.getTokenVersion() != null ? profile.getTokenVersion() : 0);
+        return createToken(claims, profile.getEmail());
+    }
 
     /**
      * Generates a JWT token for the given email (subject).
@@ -46,49 +99,62 @@ public class JwtUtil {
      * @return signed JWT string
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
     }
 
     /**
      * Extracts the username (email) from the JWT token.
      */
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     /**
      * Validates the JWT token by checking username and expiration.
+     * The token is parsed and verified only once.
      *
      * @param token  the JWT token
      * @param userDetails the expected email
      * @return true if valid, false otherwise
      */
     public boolean validateToken(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(parseClaims(token), userDetails);
+    }
+
+    /**
+     * Validates already-parsed claims against the expected user.
+     * Use this when the caller has parsed the token itself to avoid a second HMAC verification.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
     }
 
     /**
      * Checks if the token is expired.
      */
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
-     * Extracts all claims (payload) from the JWT.
+     * Parses and verifies the JWT, returning all claims (payload).
+     * Throws a JwtException if the signature is invalid or the token has expired.
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Claims parseClaims(String token) {
+        long start = System.nanoTime();
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidCounter.increment();
+            throw e;
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 }
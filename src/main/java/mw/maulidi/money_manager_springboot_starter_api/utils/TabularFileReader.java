@@ -0,0 +1,191 @@
+package mw.maulidi.money_manager_springboot_starter_api.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams rows out of CSV and XLSX files one at a time.
+ * -------------------------------------------------------
+ * Neither format is ever fully loaded into memory:
+ * - CSV is parsed character by character from a buffered reader (RFC 4180 quoting)
+ * - XLSX uses POI's SAX/event model (XSSFReader + XSSFSheetXMLHandler), not XSSFWorkbook
+ *
+ * Date cells in XLSX files are reported as ISO dates (yyyy-MM-dd) whatever their display format.
+ */
+public final class TabularFileReader {
+
+    private TabularFileReader() {
+    }
+
+    /**
+     * Receives each row as it is parsed. Row numbers start at 1, like a spreadsheet.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void row(int rowNumber, List<String> cells);
+    }
+
+    /**
+     * Reads a UTF-8 CSV stream, calling the handler once per record.
+     */
+    public static void readCsv(InputStream inputStream, RowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean inQuotes = false;
+        boolean rowHasContent = false;
+        int rowNumber = 0;
+
+        int c = reader.read();
+        if (c == '\uFEFF') { // skip UTF-8 byte order mark written by Excel
+            c = reader.read();
+        }
+        for (; c != -1; c = reader.read()) {
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        cell.append('"'); // escaped quote
+                    } else {
+                        inQuotes = false;
+                        reader.reset();
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                rowHasContent = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                rowHasContent = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (rowHasContent || cell.length() > 0) {
+                    cells.add(cell.toString());
+                    handler.row(++rowNumber, cells);
+                }
+                cells = new ArrayList<>();
+                cell.setLength(0);
+                rowHasContent = false;
+            } else {
+                cell.append((char) c);
+                rowHasContent = true;
+            }
+        }
+        if (rowHasContent || cell.length() > 0) {
+            cells.add(cell.toString());
+            handler.row(++rowNumber, cells);
+        }
+    }
+
+    /**
+     * Reads the first sheet of an XLSX file with the SAX event model, calling the handler once per row.
+     * Memory use depends on the shared strings table, not on the number of rows.
+     */
+    public static void readXlsx(File file, RowHandler handler) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Not a valid XLSX file: " + e.getMessage(), e);
+        }
+        try {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        xssfReader.getStylesTable(), null, strings, new SheetRowCollector(handler), new IsoDateFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a valid XLSX file: " + e.getMessage(), e);
+        } finally {
+            pkg.revert(); // read-only package: release it without attempting to save
+        }
+    }
+
+    /**
+     * Collects the cells of each row by column index (empty cells are skipped by POI).
+     */
+    private static final class SheetRowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private SheetRowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!cells.isEmpty()) {
+                handler.row(rowNum + 1, new ArrayList<>(cells));
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue);
+        }
+    }
+
+    /**
+     * Formats date-styled numeric cells as ISO dates instead of their locale display format.
+     */
+    private static final class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
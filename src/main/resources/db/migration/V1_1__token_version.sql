@@ -0,0 +1,2 @@
+-- Bumped to revoke every JWT issued to a profile (TokenVersionRegistry); existing profiles start at 0.
+alter table tbl_profile add column token_version integer not null default 0;
@@ -0,0 +1,15 @@
+-- Transactional outbox for outgoing email (EmailOutboxService, delivered by EmailOutboxDispatcher).
+create table tbl_email_outbox (
+    id              bigint not null auto_increment,
+    recipient       varchar(255) not null,
+    subject         varchar(255) not null,
+    body            text not null,
+    status          enum ('PENDING','SENT','DEAD') not null,
+    attempts        integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error      varchar(255),
+    created_at      datetime(6),
+    updated_at      datetime(6),
+    primary key (id),
+    index idx_email_outbox_status_next_attempt (status, next_attempt_at)
+) engine = InnoDB;
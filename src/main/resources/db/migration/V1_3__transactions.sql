@@ -0,0 +1,26 @@
+-- Income/expense ledger (TransactionEntity).
+-- Listings are per type (incomes, expenses), so type comes before the keyset columns in the index.
+create table tbl_transactions (
+    id          bigint not null,
+    name        varchar(255) not null,
+    description varchar(255),
+    icon        varchar(255),
+    type        varchar(255) not null,
+    amount      decimal(19, 2) not null,
+    date        date not null,
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    category_id bigint not null,
+    profile_id  bigint not null,
+    primary key (id),
+    index idx_transactions_profile_type_date_id (profile_id, type, date, id),
+    constraint fk_transactions_category foreign key (category_id) references tbl_categories (id),
+    constraint fk_transactions_profile foreign key (profile_id) references tbl_profile (id)
+) engine = InnoDB;
+
+-- MySQL has no sequences: Hibernate emulates tbl_transactions_seq with a single-row table
+create table tbl_transactions_seq (
+    next_val bigint
+) engine = InnoDB;
+
+insert into tbl_transactions_seq values (1);
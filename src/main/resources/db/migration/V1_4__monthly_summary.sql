@@ -0,0 +1,13 @@
+-- Per-month, per-category totals maintained alongside the ledger (MonthlySummaryService).
+create table tbl_monthly_summary (
+    id           bigint not null auto_increment,
+    profile_id   bigint not null,
+    period_month integer not null,
+    category_id  bigint not null,
+    type         varchar(255) not null,
+    total        decimal(19, 2) not null,
+    tx_count     bigint not null,
+    primary key (id),
+    constraint uk_monthly_summary_key unique (profile_id, period_month, category_id, type)
+) engine = InnoDB;
+
@@ -0,0 +1,33 @@
+-- Baseline: the schema as Hibernate (ddl-auto=update) created it before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), so this
+-- script only runs on empty databases. Every later change goes into a new V<n>__*.sql file,
+-- including the tables and columns added while ddl-auto=update was still on (V1_1 to V1_4).
+-- Constraint names are left to MySQL, as Hibernate's generated ones differ per database.
+
+create table tbl_profile (
+    id                bigint not null auto_increment,
+    full_name         varchar(255),
+    email             varchar(255),
+    password          varchar(255),
+    profile_image_url varchar(255),
+    created_at        datetime(6),
+    updated_at        datetime(6),
+    is_active         bit,
+    activation_token  varchar(255),
+    primary key (id),
+    unique (email)
+) engine = InnoDB;
+
+create table tbl_categories (
+    id          bigint not null auto_increment,
+    name        varchar(255) not null,
+    description varchar(255),
+    type        varchar(255) not null,
+    icon        varchar(255),
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    profile_id  bigint not null,
+    primary key (id),
+    unique (name, profile_id),
+    foreign key (profile_id) references tbl_profile (id)
+) engine = InnoDB;
@@ -0,0 +1,21 @@
+-- Activation links look profiles up by token (ProfileRepository.findByActivationToken);
+-- without this index every click scans tbl_profile.
+create index idx_profile_activation_token on tbl_profile (activation_token);
+
+-- Category listings filter by owner and type (CategoryRepository.findByTypeAndProfile_Id).
+-- Also serves as the index backing the profile_id foreign key.
+create index idx_categories_profile_type on tbl_categories (profile_id, type);
+
+-- The (name, profile_id) unique key was named by Hibernate (a different hash per database) or by MySQL;
+-- look it up and give it the name CategoryEntity declares.
+set @categories_unique_key = (
+    select index_name
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'tbl_categories' and non_unique = 0 and index_name <> 'PRIMARY'
+    group by index_name
+    having group_concat(column_name order by seq_in_index) = 'name,profile_id');
+set @rename_unique_key = concat('alter table tbl_categories rename index `', @categories_unique_key,
+                                '` to uk_categories_name_profile');
+prepare rename_unique_key from @rename_unique_key;
+execute rename_unique_key;
+deallocate prepare rename_unique_key;
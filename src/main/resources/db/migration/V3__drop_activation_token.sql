@@ -0,0 +1,6 @@
+-- Activation tokens are now signed and self-verifying (ActivationTokenUtil), nothing is stored per token.
+drop index idx_profile_activation_token on tbl_profile;
+alter table tbl_profile drop column activation_token;
+
+-- UnactivatedProfilePurgeJob: unactivated profiles ordered by age
+create index idx_profile_active_created on tbl_profile (is_active, created_at);
@@ -0,0 +1,24 @@
+-- Monthly spending limits per expense category (BudgetEntity).
+create table tbl_budgets (
+    id          bigint not null auto_increment,
+    profile_id  bigint not null,
+    category_id bigint not null,
+    amount      decimal(19, 2) not null,
+    created_at  datetime(6),
+    updated_at  datetime(6),
+    primary key (id),
+    constraint uk_budgets_profile_category unique (profile_id, category_id),
+    constraint fk_budgets_profile foreign key (profile_id) references tbl_profile (id),
+    constraint fk_budgets_category foreign key (category_id) references tbl_categories (id)
+) engine = InnoDB;
+
+-- One row per alert sent. The primary key makes "insert ignore" the exactly-once check
+-- (BudgetRepository.recordAlert), across nodes and restarts.
+create table tbl_budget_alerts (
+    profile_id        bigint not null,
+    category_id       bigint not null,
+    period_month      integer not null,
+    threshold_percent integer not null,
+    created_at        datetime(6) not null,
+    primary key (profile_id, category_id, period_month, threshold_percent)
+) engine = InnoDB;
@@ -0,0 +1,26 @@
+-- Recurring incomes/expenses (RecurringRuleEntity), materialized into tbl_transactions by RecurringTransactionScheduler.
+-- idx_recurring_rules_due serves the scheduler's claim query (active = 1 and next_run_date <= ? order by next_run_date, id).
+create table tbl_recurring_rules (
+    id               bigint not null auto_increment,
+    profile_id       bigint not null,
+    category_id      bigint not null,
+    name             varchar(255) not null,
+    description      varchar(255),
+    icon             varchar(255),
+    type             varchar(255) not null,
+    amount           decimal(19, 2) not null,
+    frequency        enum ('DAILY','WEEKLY','MONTHLY','YEARLY') not null,
+    interval_count   integer not null,
+    start_date       date not null,
+    end_date         date,
+    next_run_date    date not null,
+    occurrence_count integer not null,
+    active           bit not null,
+    created_at       datetime(6),
+    updated_at       datetime(6),
+    primary key (id),
+    index idx_recurring_rules_due (active, next_run_date, id),
+    index idx_recurring_rules_profile (profile_id),
+    constraint fk_recurring_rules_profile foreign key (profile_id) references tbl_profile (id),
+    constraint fk_recurring_rules_category foreign key (category_id) references tbl_categories (id)
+) engine = InnoDB;
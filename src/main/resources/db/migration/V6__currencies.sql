@@ -0,0 +1,12 @@
+-- Multi-currency: each profile has a base currency, every amount carries its own currency.
+-- Existing rows are all in the deployment's default currency (app.fx.default-currency, passed in
+-- as the default_currency placeholder).
+alter table tbl_profile add column base_currency varchar(3) not null default '${default_currency}';
+alter table tbl_transactions add column currency varchar(3) not null default '${default_currency}';
+alter table tbl_recurring_rules add column currency varchar(3) not null default '${default_currency}';
+
+-- the rollup keeps one row per currency; dashboards convert to the base currency when reading
+alter table tbl_monthly_summary add column currency varchar(3) not null default '${default_currency}';
+alter table tbl_monthly_summary drop index uk_monthly_summary_key;
+alter table tbl_monthly_summary add constraint uk_monthly_summary_key
+    unique (profile_id, period_month, category_id, type, currency);
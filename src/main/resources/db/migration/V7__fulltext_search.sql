@@ -0,0 +1,15 @@
+-- Full-text search over categories and transactions (SearchRepository).
+-- Each row's searchable text starts with a "profile<id>" token; queries require that token (+profile42),
+-- so other users' rows are intersected away before ranking. Prefix terms are still expanded over the
+-- whole index, which is why SearchService requires at least innodb_ft_min_token_size (3) characters.
+-- The columns are STORED generated columns (InnoDB cannot FULLTEXT-index virtual ones), so the
+-- application never writes them and bulk inserts stay in sync. Adding them rebuilds both tables.
+alter table tbl_categories
+    add column search_text varchar(600)
+        generated always as (concat('profile', profile_id, ' ', name, ' ', coalesce(description, ''))) stored;
+create fulltext index ftx_categories_search on tbl_categories (search_text);
+
+alter table tbl_transactions
+    add column search_text varchar(600)
+        generated always as (concat('profile', profile_id, ' ', name, ' ', coalesce(description, ''))) stored;
+create fulltext index ftx_transactions_search on tbl_transactions (search_text);
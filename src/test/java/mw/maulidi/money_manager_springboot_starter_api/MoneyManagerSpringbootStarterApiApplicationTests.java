@@ -3,7 +3,11 @@ package mw.maulidi.money_manager_springboot_starter_api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// the secrets have no default outside the local profile; test-only keys keep startup independent of the environment
+@SpringBootTest(properties = {
+		"app.security.activation.secret=test-only-activation-secret-0123456789",
+		"app.security.jwt.secret=test-only-jwt-signing-secret-0123456789"
+})
 class MoneyManagerSpringbootStarterApiApplicationTests {
 
 	@Test
@@ -0,0 +1,149 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void closingReturnsThePermitExactlyOnce() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        ConnectionLimitingDataSource dataSource = limiter(2, Duration.ofSeconds(1));
+
+        Connection connection = dataSource.getConnection();
+        assertThat(available()).isEqualTo(1);
+
+        connection.close();
+        assertThat(available()).isEqualTo(2);
+        connection.close();
+        connection.close();
+        assertThat(available()).isEqualTo(2);
+        verify(pooled, times(3)).close();
+    }
+
+    @Test
+    void otherCallsGoToThePooledConnection() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(pooled.getAutoCommit()).thenReturn(false);
+        when(target.getConnection()).thenReturn(pooled);
+        ConnectionLimitingDataSource dataSource = limiter(1, Duration.ofSeconds(1));
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.getAutoCommit()).isFalse();
+            assertThat(connection).isEqualTo(connection).isNotEqualTo(pooled);
+        }
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void aFailedGetConnectionGivesThePermitBack() throws Exception {
+        when(target.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenThrow(new IllegalStateException("Pool closed"));
+        ConnectionLimitingDataSource dataSource = limiter(2, Duration.ofSeconds(1));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+        assertThat(available()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(IllegalStateException.class);
+        assertThat(available()).isEqualTo(2);
+    }
+
+    @Test
+    void theCredentialVariantIsLimitedToo() throws Exception {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection("reporting", "secret")).thenReturn(pooled);
+        when(target.getConnection("reporting", "wrong")).thenThrow(new SQLException("Access denied"));
+        ConnectionLimitingDataSource dataSource = limiter(1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> dataSource.getConnection("reporting", "wrong")).isInstanceOf(SQLException.class);
+        assertThat(available()).isEqualTo(1);
+
+        Connection connection = dataSource.getConnection("reporting", "secret");
+        assertThat(available()).isZero();
+        connection.close();
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void aFailingCloseStillGivesThePermitBack() throws Exception {
+        Connection pooled = mock(Connection.class);
+        doThrow(new SQLException("Connection reset")).when(pooled).close();
+        when(target.getConnection()).thenReturn(pooled);
+        ConnectionLimitingDataSource dataSource = limiter(1, Duration.ofSeconds(1));
+
+        Connection connection = dataSource.getConnection();
+        assertThatThrownBy(connection::close).isInstanceOf(SQLException.class).hasMessage("Connection reset");
+
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingLongerThanTheAcquireTimeoutFails() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = limiter(1, Duration.ofMillis(100));
+        Connection held = dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("100ms");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(90));
+        assertThat(available()).isZero();
+        verify(target).getConnection(); // the timed-out caller never reached the pool
+
+        held.close();
+        assertThat(available()).isEqualTo(1);
+        dataSource.getConnection().close();
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void aWaitingCallerGetsThePermitWhenAConnectionIsClosed() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = limiter(1, Duration.ofSeconds(5));
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                meterRegistry.get("jdbc.connections.limiter.waiting").gauge().value() == 1);
+        held.close();
+
+        waiting.get(5, TimeUnit.SECONDS).close();
+        assertThat(available()).isEqualTo(1);
+    }
+
+    private ConnectionLimitingDataSource limiter(int permits, Duration acquireTimeout) {
+        return new ConnectionLimitingDataSource(target, permits, acquireTimeout, meterRegistry);
+    }
+
+    private double available() {
+        return meterRegistry.get("jdbc.connections.limiter.available").gauge().value();
+    }
+}
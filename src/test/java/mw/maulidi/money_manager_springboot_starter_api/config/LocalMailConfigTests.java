@@ -0,0 +1,43 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import mw.maulidi.money_manager_springboot_starter_api.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+class LocalMailConfigTests {
+
+    private final JavaMailSender sender = new LocalMailConfig().javaMailSender();
+
+    @Test
+    void buildsRealMessages() throws Exception {
+        EmailService emailService = emailService();
+
+        MimeMessage message = emailService.createMessage("user@example.com", "Activate", "<p>hi</p>");
+
+        assertThat(message.getSubject()).isEqualTo("Activate");
+        assertThat(message.getAllRecipients()).extracting(Object::toString).containsExactly("user@example.com");
+    }
+
+    @Test
+    void sendsWithoutAMailRelay() {
+        EmailService emailService = emailService();
+        MimeMessage first = emailService.createMessage("a@example.com", "One", "1");
+        MimeMessage second = emailService.createMessage("b@example.com", "Two", "2");
+
+        // no host is configured: the real JavaMailSenderImpl would fail to connect
+        assertThatNoException().isThrownBy(() -> emailService.sendAll(first, second));
+        assertThatNoException().isThrownBy(() -> emailService.sendEmail("c@example.com", "Three", "3"));
+    }
+
+    private EmailService emailService() {
+        EmailService emailService = new EmailService(sender, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@example.com");
+        return emailService;
+    }
+}
@@ -0,0 +1,145 @@
+package mw.maulidi.money_manager_springboot_starter_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.security.JwtPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Routing decisions against in-memory H2 "replicas"; the primary is never connected to.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private static final String UNREACHABLE = "jdbc:h2:tcp://localhost:1/unreachable";
+
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() {
+        if (routing != null) {
+            routing.destroy();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readWriteTransactionsUseThePrimary() {
+        routing = routing(null, "jdbc:h2:mem:replica1");
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readOnlyTransactionsRotateOverReplicas() {
+        routing = routing(null, "jdbc:h2:mem:replica1", "jdbc:h2:mem:replica2");
+        readOnly();
+
+        assertThat(IntStream.range(0, 4).mapToObj(i -> routing.determineCurrentLookupKey()))
+                .containsExactly("replica1", "replica2", "replica1", "replica2");
+    }
+
+    @Test
+    void unreachableReplicasAreSkipped() {
+        routing = routing(null, "jdbc:h2:mem:replica1", UNREACHABLE);
+        readOnly();
+
+        assertThat(IntStream.range(0, 3).mapToObj(i -> routing.determineCurrentLookupKey()))
+                .containsOnly("replica1");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWithoutAHealthyReplica() {
+        routing = routing(null, UNREACHABLE);
+        readOnly();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void laggingReplicasAreTakenOutOfRotation() {
+        routing = routing("select 120", "jdbc:h2:mem:replica1");
+        readOnly();
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void writersReadTheirOwnWritesFromThePrimary() {
+        routing = routing(null, "jdbc:h2:mem:replica1");
+        signIn(42L);
+
+        // a committed read-write transaction by profile 42
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        signIn(7L);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica1");
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReadsToThePrimary() {
+        routing = routing(null, "jdbc:h2:mem:replica1");
+        signIn(42L);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.initSynchronization();
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization(); // no afterCommit
+
+        readOnly();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica1");
+    }
+
+    private static ReplicaRoutingDataSource routing(String lagQuery, String... replicaUrls) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(replicaUrls[i]);
+            pool.setUsername("sa");
+            pool.setConnectionTimeout(250);
+            pool.setInitializationFailTimeout(-1);
+            pools.put("replica" + (i + 1), pool);
+        }
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties(
+                List.of(), Duration.ofSeconds(5), Duration.ofSeconds(30), lagQuery);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                mock(DataSource.class), pools, properties, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static void readOnly() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static void signIn(Long profileId) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new JwtPrincipal(profileId, "user" + profileId + "@example.com", 0), null, List.of()));
+    }
+}
@@ -0,0 +1,71 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.BootstrapDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.DashboardDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.ProfileDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.BootstrapService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(BootstrapController.class)
+class BootstrapControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BootstrapService bootstrapService;
+
+    @Test
+    void returnsEverythingInOneUncachedResponse() throws Exception {
+        when(bootstrapService.getBootstrap()).thenReturn(BootstrapDTO.builder()
+                .profile(ProfileDTO.builder().fullName("Alinafe Banda").baseCurrency("MWK").build())
+                .categories(Map.of(
+                        "INCOME", List.of(),
+                        "EXPENSE", List.of(CategoryDTO.builder().id(4L).name("Groceries").type("EXPENSE").build())))
+                .currency("MWK")
+                .currentMonth(DashboardDTO.MonthTotals.builder()
+                        .month(YearMonth.of(2025, 3))
+                        .totalIncome(new BigDecimal("900000.00"))
+                        .totalExpense(new BigDecimal("250000.00"))
+                        .balance(new BigDecimal("650000.00"))
+                        .build())
+                .build());
+
+        mockMvc.perform(get("/bootstrap"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$.profile.fullName").value("Alinafe Banda"))
+                .andExpect(jsonPath("$.categories.INCOME").isEmpty())
+                .andExpect(jsonPath("$.categories.EXPENSE[0].name").value("Groceries"))
+                .andExpect(jsonPath("$.currency").value("MWK"))
+                .andExpect(jsonPath("$.currentMonth.month").value("2025-03"))
+                .andExpect(jsonPath("$.currentMonth.balance").value(650000.00));
+    }
+
+    @Test
+    void aSlowPartIsServiceUnavailable() throws Exception {
+        when(bootstrapService.getBootstrap()).thenThrow(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Bootstrap data is taking too long to load"));
+
+        mockMvc.perform(get("/bootstrap"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
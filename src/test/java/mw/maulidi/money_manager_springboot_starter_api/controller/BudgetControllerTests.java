@@ -0,0 +1,88 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.BudgetDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.BudgetService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(BudgetController.class)
+class BudgetControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BudgetService budgetService;
+
+    @Test
+    void listsBudgetsWithThisMonthsSpending() throws Exception {
+        when(budgetService.getBudgets()).thenReturn(List.of(BudgetDTO.builder()
+                .categoryId(7L)
+                .categoryName("Groceries")
+                .amount(new BigDecimal("250.00"))
+                .spent(new BigDecimal("200.00"))
+                .currency("USD")
+                .percentUsed(80)
+                .month(YearMonth.of(2025, 3))
+                .build()));
+
+        mockMvc.perform(get("/budgets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryName").value("Groceries"))
+                .andExpect(jsonPath("$[0].percentUsed").value(80))
+                .andExpect(jsonPath("$[0].month").value("2025-03"));
+    }
+
+    @Test
+    void setsTheLimitOfTheCategoryInThePath() throws Exception {
+        when(budgetService.setBudget(eq(7L), any()))
+                .thenReturn(BudgetDTO.builder().categoryId(7L).amount(new BigDecimal("250.00")).build());
+
+        mockMvc.perform(put("/budgets/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 250.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(250.00));
+
+        verify(budgetService).setBudget(eq(7L), argThat(dto -> new BigDecimal("250.00").compareTo(dto.getAmount()) == 0));
+    }
+
+    @Test
+    void rejectedLimitsKeepTheServiceStatus() throws Exception {
+        when(budgetService.setBudget(eq(7L), any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero"));
+
+        mockMvc.perform(put("/budgets/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deletesABudget() throws Exception {
+        mockMvc.perform(delete("/budgets/7"))
+                .andExpect(status().isNoContent());
+
+        verify(budgetService).deleteBudget(7L);
+    }
+}
@@ -0,0 +1,71 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.service.CategoryService;
+import mw.maulidi.money_manager_springboot_starter_api.service.CategoryService.CategoryListing;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(CategoryController.class)
+class CategoryControllerTests {
+
+    private static final CategoryListing LISTING = new CategoryListing(
+            List.of(CategoryDTO.builder().id(1L).name("Groceries").type("EXPENSE").build()), "\"v1\"", "2:2025-01-01T00:00");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CategoryService categoryService;
+
+    @Test
+    void listsWithAnETag() throws Exception {
+        when(categoryService.getCurrentUserCategories()).thenReturn(LISTING);
+
+        mockMvc.perform(get("/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$[0].name").value("Groceries"));
+    }
+
+    @Test
+    void answersNotModifiedWhenTheETagMatches() throws Exception {
+        when(categoryService.getCurrentUserCategories()).thenReturn(LISTING);
+
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void filtersByType() throws Exception {
+        when(categoryService.getCurrentUserCategoriesByType(CategoryType.EXPENSE)).thenReturn(LISTING);
+
+        mockMvc.perform(get("/categories/expense"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("EXPENSE"));
+    }
+
+    @Test
+    void rejectsUnknownTypes() throws Exception {
+        mockMvc.perform(get("/categories/transfer"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(categoryService);
+    }
+}
@@ -0,0 +1,32 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.diagnostics.QueryStatsFilter;
+import mw.maulidi.money_manager_springboot_starter_api.security.IdempotencyFilter;
+import mw.maulidi.money_manager_springboot_starter_api.security.JWTRequestFilter;
+import mw.maulidi.money_manager_springboot_starter_api.security.RateLimitFilter;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * MVC slice for one controller: request mapping, binding and JSON only.
+ * The application's servlet filters and Spring Security are left out; they have tests of their own.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@WebMvcTest(excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE,
+        classes = {JWTRequestFilter.class, RateLimitFilter.class, IdempotencyFilter.class, QueryStatsFilter.class}))
+@AutoConfigureMockMvc(addFilters = false)
+@interface ControllerSliceTest {
+
+    @AliasFor(annotation = WebMvcTest.class, attribute = "controllers")
+    Class<?>[] value();
+}
@@ -0,0 +1,79 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.DashboardDTO;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.service.MonthlySummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(DashboardController.class)
+class DashboardControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MonthlySummaryService monthlySummaryService;
+
+    @MockitoBean
+    private CurrentProfile currentProfile;
+
+    @BeforeEach
+    void setUp() {
+        when(currentProfile.getId()).thenReturn(42L);
+    }
+
+    @Test
+    void returnsTheRequestedMonths() throws Exception {
+        DashboardDTO.MonthTotals january = DashboardDTO.MonthTotals.builder()
+                .month(YearMonth.of(2025, 1))
+                .totalIncome(new BigDecimal("1200.00"))
+                .totalExpense(new BigDecimal("800.00"))
+                .balance(new BigDecimal("400.00"))
+                .build();
+        when(monthlySummaryService.getDashboard(42L, YearMonth.of(2025, 1), YearMonth.of(2025, 3)))
+                .thenReturn(DashboardDTO.builder().currency("MWK").months(List.of(january)).categories(List.of()).build());
+
+        mockMvc.perform(get("/dashboard").param("from", "2025-01").param("to", "2025-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currency").value("MWK"))
+                .andExpect(jsonPath("$.months[0].balance").value(400.00));
+    }
+
+    @Test
+    void defaultsToTheLastTwelveMonths() throws Exception {
+        YearMonth now = YearMonth.now();
+        when(monthlySummaryService.getDashboard(eq(42L), any(), any())).thenReturn(DashboardDTO.builder().build());
+
+        mockMvc.perform(get("/dashboard"))
+                .andExpect(status().isOk());
+
+        verify(monthlySummaryService).getDashboard(42L, now.minusMonths(11), now);
+    }
+
+    @Test
+    void rejectsReversedAndOverlongRanges() throws Exception {
+        mockMvc.perform(get("/dashboard").param("from", "2025-06").param("to", "2025-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/dashboard").param("from", "2000-01").param("to", "2025-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(monthlySummaryService);
+    }
+}
@@ -0,0 +1,45 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.service.ProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(ProfileController.class)
+class ProfileControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProfileService profileService;
+
+    @Test
+    void logoutAllRevokesEveryToken() throws Exception {
+        mockMvc.perform(post("/api/v1/profiles/logout-all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("All sessions have been signed out"));
+
+        verify(profileService).revokeAllTokens();
+    }
+
+    @Test
+    void updatesTheBaseCurrency() throws Exception {
+        when(profileService.updateBaseCurrency("mwk")).thenReturn("MWK");
+
+        mockMvc.perform(put("/api/v1/profiles/base-currency")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"baseCurrency\": \"mwk\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseCurrency").value("MWK"));
+    }
+}
@@ -0,0 +1,81 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.RecurringRuleDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurrenceFrequency;
+import mw.maulidi.money_manager_springboot_starter_api.service.RecurringRuleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(RecurringRuleController.class)
+class RecurringRuleControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RecurringRuleService recurringRuleService;
+
+    @Test
+    void createsARule() throws Exception {
+        when(recurringRuleService.createRule(any())).thenReturn(RecurringRuleDTO.builder()
+                .id(3L)
+                .name("Rent")
+                .frequency(RecurrenceFrequency.MONTHLY)
+                .nextRunDate(LocalDate.of(2025, 1, 31))
+                .active(true)
+                .build());
+
+        mockMvc.perform(post("/recurring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryId\": 4, \"name\": \"Rent\", \"amount\": 500.00,"
+                                + " \"frequency\": \"MONTHLY\", \"startDate\": \"2025-01-31\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.nextRunDate").value("2025-01-31"));
+
+        verify(recurringRuleService).createRule(argThat(rule -> rule.getFrequency() == RecurrenceFrequency.MONTHLY
+                && LocalDate.of(2025, 1, 31).equals(rule.getStartDate())));
+    }
+
+    @Test
+    void unknownFrequenciesAreRejected() throws Exception {
+        mockMvc.perform(post("/recurring")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Rent\", \"frequency\": \"FORTNIGHTLY\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listsRules() throws Exception {
+        when(recurringRuleService.getRules())
+                .thenReturn(List.of(RecurringRuleDTO.builder().id(3L).name("Rent").build()));
+
+        mockMvc.perform(get("/recurring"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Rent"));
+    }
+
+    @Test
+    void deleteDeactivatesTheRule() throws Exception {
+        mockMvc.perform(delete("/recurring/3"))
+                .andExpect(status().isNoContent());
+
+        verify(recurringRuleService).deactivateRule(3L);
+    }
+}
@@ -0,0 +1,74 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.SearchResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.SearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(SearchController.class)
+class SearchControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @Test
+    void returnsAPageOfMatches() throws Exception {
+        when(searchService.search("groc", null, null)).thenReturn(KeysetPageDTO.<SearchResultDTO>builder()
+                .items(List.of(SearchResultDTO.builder().kind("CATEGORY").id(4L).name("Groceries").score(1.5).build()))
+                .nextCursor("20")
+                .hasMore(true)
+                .build());
+
+        mockMvc.perform(get("/search").param("q", "groc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].kind").value("CATEGORY"))
+                .andExpect(jsonPath("$.items[0].name").value("Groceries"))
+                .andExpect(jsonPath("$.nextCursor").value("20"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void passesTheCursorAndSize() throws Exception {
+        when(searchService.search(any(), any(), any()))
+                .thenReturn(KeysetPageDTO.<SearchResultDTO>builder().items(List.of()).build());
+
+        mockMvc.perform(get("/search").param("q", "rent").param("cursor", "20").param("size", "10"))
+                .andExpect(status().isOk());
+
+        verify(searchService).search("rent", "20", 10);
+    }
+
+    @Test
+    void aMissingQueryIsABadRequest() throws Exception {
+        mockMvc.perform(get("/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shortWordsKeepTheServiceStatus() throws Exception {
+        when(searchService.search(eq("ab"), isNull(), isNull()))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search words must be at least 3 characters long"));
+
+        mockMvc.perform(get("/search").param("q", "ab"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,73 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.TransactionDTO;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryType;
+import mw.maulidi.money_manager_springboot_starter_api.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(TransactionController.class)
+class TransactionControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TransactionService transactionService;
+
+    @Test
+    void listsOnePageOfTheKindInThePath() throws Exception {
+        TransactionDTO rent = TransactionDTO.builder().id(7L).name("Rent").amount(new BigDecimal("500.00")).build();
+        when(transactionService.getTransactions(CategoryType.EXPENSE, "abc", 10))
+                .thenReturn(KeysetPageDTO.<TransactionDTO>builder().items(List.of(rent)).nextCursor("def").hasMore(true).build());
+
+        mockMvc.perform(get("/expenses").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Rent"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void addsAnIncome() throws Exception {
+        when(transactionService.addTransaction(eq(CategoryType.INCOME), any()))
+                .thenReturn(TransactionDTO.builder().id(1L).name("Salary").type("INCOME").build());
+
+        mockMvc.perform(post("/incomes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Salary\",\"amount\":1200.00,\"categoryId\":3}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.type").value("INCOME"));
+    }
+
+    @Test
+    void deletesAnExpense() throws Exception {
+        mockMvc.perform(delete("/expenses/5"))
+                .andExpect(status().isNoContent());
+
+        verify(transactionService).deleteTransaction(CategoryType.EXPENSE, 5L);
+    }
+
+    @Test
+    void unknownKindIsNotMapped() throws Exception {
+        mockMvc.perform(get("/transfers"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,95 @@
+package mw.maulidi.money_manager_springboot_starter_api.controller;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.ImportResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.service.TransactionExportService;
+import mw.maulidi.money_manager_springboot_starter_api.service.TransactionImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ControllerSliceTest(TransactionFileController.class)
+class TransactionFileControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TransactionImportService transactionImportService;
+
+    @MockitoBean
+    private TransactionExportService transactionExportService;
+
+    @Test
+    void importsAnUploadedFile() throws Exception {
+        when(transactionImportService.importTransactions(any()))
+                .thenReturn(ImportResultDTO.builder().imported(2).skipped(1).errors(List.of("row 3: Amount is required")).build());
+        MockMultipartFile file = new MockMultipartFile("file", "ledger.csv", "text/csv",
+                "name,amount\nRent,500\nCoffee,3\nBroken,\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/transactions/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.skipped").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("row 3: Amount is required"));
+    }
+
+    @Test
+    void importRequiresAFile() throws Exception {
+        mockMvc.perform(multipart("/transactions/import"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamsCsvByDefault() throws Exception {
+        when(transactionExportService.exportCsv())
+                .thenReturn(out -> out.write("date,name,amount\n2024-01-31,Rent,500.00\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult started = mockMvc.perform(get("/transactions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("date,name,amount\n2024-01-31,Rent,500.00\n"));
+    }
+
+    @Test
+    void streamsXlsxOnRequest() throws Exception {
+        when(transactionExportService.exportXlsx()).thenReturn(out -> out.write(new byte[]{'P', 'K'}));
+
+        MvcResult started = mockMvc.perform(get("/transactions/export").param("format", "XLSX"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions.xlsx\""));
+    }
+
+    @Test
+    void rejectsUnknownExportFormats() throws Exception {
+        mockMvc.perform(get("/transactions/export").param("format", "pdf"))
+                .andExpect(status().isBadRequest());
+    }
+}
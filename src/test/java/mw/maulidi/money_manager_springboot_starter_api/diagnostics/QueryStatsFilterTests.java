@@ -0,0 +1,133 @@
+package mw.maulidi.money_manager_springboot_starter_api.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryStatsFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountingStatementInspector inspector = new CountingStatementInspector();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    void enforceModeFailsRequestsOverBudget() throws Exception {
+        QueryStatsFilter filter = filter(true);
+        MockHttpServletRequest request = request("budgetOfTwo");
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), statements(3)))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessage("GET /things issued 3 SQL statements, budget is 2");
+        assertThat(exceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void enforceModeLetsRequestsWithinBudgetThrough() {
+        QueryStatsFilter filter = filter(true);
+
+        assertThatNoException().isThrownBy(() ->
+                filter.doFilter(request("budgetOfTwo"), new MockHttpServletResponse(), statements(2)));
+        assertThat(exceeded()).isZero();
+    }
+
+    @Test
+    void defaultModeOnlyCountsOverruns() {
+        QueryStatsFilter filter = filter(false);
+
+        assertThatNoException().isThrownBy(() ->
+                filter.doFilter(request("budgetOfTwo"), new MockHttpServletResponse(), statements(3)));
+        assertThat(exceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void fallsBackToTheControllerBudget() {
+        QueryStatsFilter filter = filter(true);
+
+        assertThatThrownBy(() -> filter.doFilter(request("noMethodBudget"), new MockHttpServletResponse(), statements(6)))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageEndingWith("budget is 5");
+    }
+
+    @Test
+    void countsStatementsIssuedOnWorkerThreads() {
+        QueryStatsFilter filter = filter(true);
+        QueryStatsExecutor executor = new QueryStatsExecutor(worker);
+        FilterChain chain = (request, response) -> {
+            inspector.inspect("select * from tbl_profile where id = ?");
+            CompletableFuture.runAsync(() -> {
+                inspector.inspect("select * from tbl_categories where profile_id = ?");
+                inspector.inspect("select * from tbl_monthly_summary where profile_id = ?");
+            }, executor).join();
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request("budgetOfTwo"), new MockHttpServletResponse(), chain))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("issued 3 SQL statements");
+    }
+
+    @Test
+    void workerThreadsDoNotKeepTheRequestsStats() throws Exception {
+        QueryStatsExecutor executor = new QueryStatsExecutor(worker);
+        FilterChain chain = (request, response) -> CompletableFuture.runAsync(() -> { }, executor).join();
+
+        filter(true).doFilter(request("budgetOfTwo"), new MockHttpServletResponse(), chain);
+
+        assertThat(worker.submit(QueryStats::current).get()).isNull();
+    }
+
+    private QueryStatsFilter filter(boolean enforce) {
+        return new QueryStatsFilter(meterRegistry, new QueryStatsProperties(100, Duration.ofSeconds(10), 5, 0.0, enforce));
+    }
+
+    private FilterChain statements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                inspector.inspect("select * from tbl_transactions where id = ?");
+            }
+        };
+    }
+
+    private static MockHttpServletRequest request(String handlerMethod) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/things");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/things");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Handlers(), Handlers.class.getMethod(handlerMethod)));
+        return request;
+    }
+
+    private double exceeded() {
+        Counter counter = meterRegistry.find("db.query_budget.exceeded").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @QueryBudget(5)
+    static class Handlers {
+
+        @QueryBudget(2)
+        public void budgetOfTwo() {
+        }
+
+        public void noMethodBudget() {
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.service.AppUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedPasswordEncoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatedEncoder gated = new GatedEncoder();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        gated.release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void aFullQueueIsRejectedAtOnceWithRetryAfter() throws Exception {
+        encoder = new BoundedPasswordEncoder(gated, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        assertThat(gated.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> queueDepth() == 1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOfSatisfying(BoundedPasswordEncoder.HashingSaturatedException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+                });
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        gated.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void aTimedOutHashLeavesTheQueueAndNeverRuns() throws Exception {
+        encoder = new BoundedPasswordEncoder(gated, 1, 4, Duration.ofMillis(100), meterRegistry);
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        assertThat(gated.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.encode("second"))
+                .isInstanceOf(BoundedPasswordEncoder.HashingSaturatedException.class);
+        assertThat(queueDepth()).isZero();
+
+        // the started hash times out for its caller too, but keeps the thread until it finishes
+        assertThatThrownBy(() -> running.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BoundedPasswordEncoder.HashingSaturatedException.class);
+        assertThat(meterRegistry.get("auth.password.hash.active").gauge().value()).isEqualTo(1);
+
+        gated.release.countDown();
+        assertThat(encoder.encode("third")).isEqualTo("hash:third");
+        assertThat(gated.hashes).hasValue(2); // "first" and "third": the dequeued "second" never ran
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(2);
+    }
+
+    @Test
+    void failuresOfTheDelegateAreRethrown() {
+        PasswordEncoder failing = mock(PasswordEncoder.class);
+        when(failing.matches(anyString(), anyString())).thenThrow(new IllegalArgumentException("Invalid salt"));
+        encoder = new BoundedPasswordEncoder(failing, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("secret", "$2a$10$broken"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid salt");
+    }
+
+    @Test
+    void weakerStoredHashesAreRehashedOnLogin() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 4, Duration.ofSeconds(5), meterRegistry);
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        when(profileRepository.findByEmail("user42@example.com")).thenReturn(Optional.of(ProfileEntity.builder()
+                .Id(42L)
+                .email("user42@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("secret"))
+                .isActive(true)
+                .build()));
+        AppUserDetailsService userDetailsService = new AppUserDetailsService(profileRepository,
+                new PrincipalCache(100, Duration.ofMinutes(5), meterRegistry));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        assertThatThrownBy(() -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("user42@example.com", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(profileRepository, never()).updatePassword(anyLong(), anyString());
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user42@example.com", "secret"));
+
+        verify(profileRepository).updatePassword(eq(42L), argThat(hash -> hash.startsWith("$2a$05$")));
+        // the cached principal with the old hash was dropped
+        userDetailsService.loadUserByUsername("user42@example.com");
+        verify(profileRepository, times(2)).findByEmail("user42@example.com");
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("auth.password.hash.queue").gauge().value();
+    }
+
+    /** Counts hashes and holds each one until released. */
+    private static class GatedEncoder implements PasswordEncoder {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger hashes = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashes.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+
+    private static final String BODY = "{\"name\":\"Groceries\",\"type\":\"EXPENSE\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void replaysTheFirstResponseWithoutRunningTheRequestAgain() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+
+        MockHttpServletResponse first = perform(filter, post("/categories", "key-1", BODY), created());
+        MockHttpServletResponse retry = perform(filter, post("/categories", "key-1", BODY), created());
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/categories/1");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void rejectsAReusedKeyWithADifferentBody() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+        perform(filter, post("/categories", "key-1", BODY), created());
+
+        MockHttpServletResponse other = perform(filter, post("/categories", "key-1", "{\"name\":\"Rent\"}"), created());
+
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedPerProfile() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+
+        signIn(1L);
+        perform(filter, post("/categories", "key-1", BODY), created());
+        signIn(2L);
+        MockHttpServletResponse second = perform(filter, post("/categories", "key-1", BODY), created());
+
+        assertThat(executions).hasValue(2);
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void requestsWithoutAKeyOrOutsideTheListedPathsAreNotStored() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+
+        perform(filter, post("/categories", null, BODY), created());
+        perform(filter, post("/categories", null, BODY), created());
+        perform(filter, post("/api/v1/profiles/login", "key-1", BODY), created());
+        perform(filter, post("/api/v1/profiles/login", "key-1", BODY), created());
+
+        assertThat(executions).hasValue(4);
+    }
+
+    @Test
+    void errorsRaisedThroughSendErrorRunAgain() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+        FilterChain badRequest = (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            ((HttpServletResponse) response).sendError(400, "Category already exists");
+        };
+
+        perform(filter, post("/categories", "key-1", BODY), badRequest);
+        perform(filter, post("/categories", "key-1", BODY), badRequest);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void serverErrorsRunAgain() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+        FilterChain unavailable = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+
+        perform(filter, post("/categories", "key-1", BODY), unavailable);
+        MockHttpServletResponse retry = perform(filter, post("/categories", "key-1", BODY), created());
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void aDuplicateInFlightWaitsForTheFirstResponse() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() ->
+                performUnchecked(filter, post("/categories", "key-1", BODY), blocking(entered, release)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                performUnchecked(filter, post("/categories", "key-1", BODY), created()));
+        Thread.sleep(100); // let the duplicate reach the wait
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void aDuplicateThatWaitsTooLongGetsAConflict() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofMillis(100));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() ->
+                performUnchecked(filter, post("/categories", "key-1", BODY), blocking(entered, release)));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        try {
+            MockHttpServletResponse duplicate = perform(filter, post("/categories", "key-1", BODY), created());
+            assertThat(duplicate.getStatus()).isEqualTo(409);
+        } finally {
+            release.countDown();
+        }
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(executions).hasValue(1);
+    }
+
+    private static IdempotencyFilter filter(Duration waitTimeout) {
+        return new IdempotencyFilter(1_000_000, Duration.ofHours(1), 65536, waitTimeout,
+                new String[]{"/categories", "/api/v1/profiles/register"}, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest post(String uri, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+
+    private static MockHttpServletResponse perform(IdempotencyFilter filter, MockHttpServletRequest request, FilterChain chain)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletResponse performUnchecked(IdempotencyFilter filter, MockHttpServletRequest request, FilterChain chain) {
+        try {
+            return perform(filter, request, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** What CategoryController does: reads the body, answers 201 with the new resource. */
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setHeader(HttpHeaders.LOCATION, "/categories/1");
+            http.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            http.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private FilterChain blocking(CountDownLatch entered, CountDownLatch release) {
+        FilterChain created = created();
+        return (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created.doFilter(request, response);
+        };
+    }
+
+    private static void signIn(Long profileId) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new JwtPrincipal(profileId, "user" + profileId + "@example.com", 0), null, List.of()));
+    }
+}
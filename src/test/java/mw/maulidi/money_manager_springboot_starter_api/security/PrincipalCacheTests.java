@@ -0,0 +1,138 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository.StaleProfile;
+import mw.maulidi.money_manager_springboot_starter_api.service.AppUserDetailsService;
+import mw.maulidi.money_manager_springboot_starter_api.service.ProfileService;
+import mw.maulidi.money_manager_springboot_starter_api.service.UnactivatedProfilePurgeJob;
+import mw.maulidi.money_manager_springboot_starter_api.utils.ActivationTokenUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PrincipalCache} as seen through {@link AppUserDetailsService}: hits stay off the database,
+ * and every write that changes the credentials or the account state drops the entry.
+ */
+class PrincipalCacheTests {
+
+    private static final String EMAIL = "chikondi@example.com";
+
+    private final ProfileRepository profileRepository = mock(ProfileRepository.class);
+    private final PrincipalCache principalCache = new PrincipalCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    private final AppUserDetailsService userDetailsService = new AppUserDetailsService(profileRepository, principalCache);
+    private final ActivationTokenUtil activationTokenUtil =
+            new ActivationTokenUtil("test-only-activation-secret-0123456789", Duration.ofHours(48));
+
+    @Test
+    void aHitSkipsTheDatabase() {
+        ProfileEntity profile = profile("$2a$10$stored", true);
+        when(profileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(profile));
+
+        UserDetails first = userDetailsService.loadUserByUsername(EMAIL);
+        UserDetails second = userDetailsService.loadUserByUsername(EMAIL);
+
+        assertThat(second.getPassword()).isEqualTo(first.getPassword()).isEqualTo("$2a$10$stored");
+        verify(profileRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void unknownEmailsAreNotCached() {
+        when(profileRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+
+        verify(profileRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void updatePasswordEvicts() {
+        ProfileEntity before = profile("$2a$05$weak", true);
+        ProfileEntity after = profile("$2a$10$strong", true);
+        when(profileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(before), Optional.of(after));
+        UserDetails user = userDetailsService.loadUserByUsername(EMAIL);
+
+        userDetailsService.updatePassword(user, "$2a$10$strong");
+
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).getPassword()).isEqualTo("$2a$10$strong");
+        verify(profileRepository).updatePassword(42L, "$2a$10$strong");
+        verify(profileRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void activateProfileEvicts() {
+        ProfileEntity inactive = profile("$2a$10$stored", false);
+        ProfileEntity active = profile("$2a$10$stored", true);
+        when(profileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(inactive), Optional.of(active));
+        when(profileRepository.activateById(42L)).thenReturn(1);
+        when(profileRepository.findEmailById(42L)).thenReturn(Optional.of(EMAIL));
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isFalse();
+
+        assertThat(profileService().activateProfile(activationTokenUtil.generate(42L))).isTrue();
+
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+        verify(profileRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void purgeEvicts() {
+        ProfileEntity stale = profile("$2a$10$stored", false);
+        when(profileRepository.findByEmail(EMAIL)).thenReturn(Optional.of(stale), Optional.empty());
+        when(profileRepository.findStaleUnactivated(any(), any())).thenReturn(List.of(new Stale(42L, EMAIL)));
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        UnactivatedProfilePurgeJob job = new UnactivatedProfilePurgeJob(profileRepository, principalCache,
+                activationTokenUtil, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "chunkSize", 10);
+        job.purge();
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        verify(profileRepository).deleteUnactivatedByIds(List.of(42L));
+        verify(profileRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    // activateProfile only needs the repository, the cache and the token util
+    private ProfileService profileService() {
+        return new ProfileService(profileRepository, null, null, null, null, null, principalCache,
+                null, null, activationTokenUtil, null, null, null);
+    }
+
+    private static ProfileEntity profile(String password, boolean active) {
+        return ProfileEntity.builder()
+                .Id(42L)
+                .fullName("Chikondi Phiri")
+                .email(EMAIL)
+                .password(password)
+                .isActive(active)
+                .build();
+    }
+
+    private record Stale(Long id, String email) implements StaleProfile {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+}
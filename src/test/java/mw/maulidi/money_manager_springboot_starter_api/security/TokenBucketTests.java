@@ -0,0 +1,92 @@
+package mw.maulidi.money_manager_springboot_starter_api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsABurstOfCapacityThenRefusesWithRetryAfter() {
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0);
+
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Probe(true, 3, 2, SECOND, 0));
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Probe(true, 3, 1, 2 * SECOND, 0));
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Probe(true, 3, 0, 3 * SECOND, 0));
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Probe(false, 3, 0, 3 * SECOND, SECOND));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(0);
+        }
+
+        assertThat(bucket.tryConsume(SECOND / 2).allowed()).isFalse();
+        assertThat(bucket.tryConsume(SECOND).allowed()).isTrue();
+        assertThat(bucket.tryConsume(SECOND).allowed()).isFalse();
+    }
+
+    @Test
+    void refusedRequestsDoNotConsume() {
+        TokenBucket bucket = new TokenBucket(1, SECOND, 0);
+        bucket.tryConsume(0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(0).allowed()).isFalse();
+        }
+
+        assertThat(bucket.tryConsume(SECOND).allowed()).isTrue();
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0);
+
+        long later = 3600 * SECOND;
+        assertThat(bucket.tryConsume(later).remaining()).isEqualTo(2);
+        bucket.tryConsume(later);
+        bucket.tryConsume(later);
+        assertThat(bucket.tryConsume(later).allowed()).isFalse();
+    }
+
+    @Test
+    void concurrentCallersNeverOverspend() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, 60 * SECOND, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> callers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                callers.add(pool.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryConsume(0).allowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Integer> caller : callers) {
+                allowed += caller.get();
+            }
+            assertThat(allowed).isEqualTo(100);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
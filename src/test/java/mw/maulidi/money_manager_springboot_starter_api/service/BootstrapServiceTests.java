@@ -0,0 +1,128 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.dto.BootstrapDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.CategoryDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.DashboardDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.ProfileDTO;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BootstrapServiceTests {
+
+    private final ProfileService profileService = mock(ProfileService.class);
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final MonthlySummaryService monthlySummaryService = mock(MonthlySummaryService.class);
+    private final CurrentProfile currentProfile = mock(CurrentProfile.class);
+
+    private BootstrapService bootstrapService;
+
+    @BeforeEach
+    void setUp() {
+        when(currentProfile.getId()).thenReturn(42L);
+        when(profileService.getPublicProfile(42L)).thenReturn(ProfileDTO.builder().fullName("Alinafe Banda").build());
+        when(categoryService.getCategoriesForProfile(42L)).thenReturn(new CategoryService.CategoryListing(
+                List.of(CategoryDTO.builder().id(4L).name("Groceries").type("EXPENSE").build()), "\"etag\"", "1"));
+        when(monthlySummaryService.getDashboard(eq(42L), any(), any())).thenReturn(DashboardDTO.builder()
+                .currency("MWK")
+                .months(List.of(DashboardDTO.MonthTotals.builder()
+                        .month(YearMonth.now())
+                        .balance(new BigDecimal("650000.00"))
+                        .build()))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bootstrapService != null) {
+            bootstrapService.close();
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void combinesTheThreeParts() {
+        bootstrapService = bootstrapService(Duration.ofSeconds(5));
+
+        BootstrapDTO bootstrap = bootstrapService.getBootstrap();
+
+        assertThat(bootstrap.getProfile().getFullName()).isEqualTo("Alinafe Banda");
+        assertThat(bootstrap.getCategories()).containsOnlyKeys("INCOME", "EXPENSE");
+        assertThat(bootstrap.getCategories().get("INCOME")).isEmpty();
+        assertThat(bootstrap.getCategories().get("EXPENSE")).extracting(CategoryDTO::getName).containsExactly("Groceries");
+        assertThat(bootstrap.getCurrency()).isEqualTo("MWK");
+        assertThat(bootstrap.getCurrentMonth().getMonth()).isEqualTo(YearMonth.now());
+    }
+
+    @Test
+    void workersSeeTheCallersSecurityContext() {
+        bootstrapService = bootstrapService(Duration.ofSeconds(5));
+        Authentication caller = new TestingAuthenticationToken("user42@example.com", null);
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        when(profileService.getPublicProfile(42L)).thenAnswer(invocation -> {
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+            return ProfileDTO.builder().build();
+        });
+
+        bootstrapService.getBootstrap();
+
+        assertThat(seen.get()).isSameAs(caller);
+    }
+
+    @Test
+    void aFailingPartKeepsItsStatus() {
+        bootstrapService = bootstrapService(Duration.ofSeconds(5));
+        when(profileService.getPublicProfile(42L))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Profile not found"));
+
+        assertThatThrownBy(() -> bootstrapService.getBootstrap())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void aSlowPartIsServiceUnavailable() {
+        bootstrapService = bootstrapService(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        when(monthlySummaryService.getDashboard(eq(42L), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return DashboardDTO.builder().build();
+        });
+
+        try {
+            assertThatThrownBy(() -> bootstrapService.getBootstrap())
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private BootstrapService bootstrapService(Duration timeout) {
+        return new BootstrapService(profileService, categoryService, monthlySummaryService, currentProfile,
+                3, 8, timeout, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,322 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.BudgetRepository.BudgetSpend;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * BudgetTracker against a stub repository whose findBudgetSpend answers from {@link #limits} and
+ * {@link #spent}, the "committed" state. Tests change that state alongside the events they send,
+ * as a real write commits before its event is delivered.
+ */
+class BudgetTrackerTests {
+
+    private static final Long PROFILE = 1L;
+    private static final Long CATEGORY = 10L;
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 31);
+    private static final LocalDate APRIL = LocalDate.of(2025, 4, 1);
+
+    private final BudgetRepository budgetRepository = mock(BudgetRepository.class);
+    private final List<BudgetThresholdCrossedEvent> published = new CopyOnWriteArrayList<>();
+    private final Map<Long, BigDecimal> limits = new ConcurrentHashMap<>();
+    private final Map<String, BigDecimal> spent = new ConcurrentHashMap<>();
+
+    private BudgetTracker tracker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FxRateTable fxRateTable = new FxRateTable(new ByteArrayResource(
+                "date,currency,rate\n2025-01-01,MWK,1700\n".getBytes(StandardCharsets.UTF_8)), "USD");
+        tracker = new BudgetTracker(budgetRepository, event -> published.add((BudgetThresholdCrossedEvent) event),
+                fxRateTable, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                new int[]{100, 80}, 1000, Duration.ofHours(1));
+        tracker.clock = clockAt(MARCH);
+        when(budgetRepository.findBudgetSpend(anyCollection(), anyInt())).thenAnswer(invocation ->
+                rows(invocation.getArgument(0), invocation.getArgument(1)));
+        limits.put(PROFILE, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void writesForUntrackedProfilesOnlyQueueThem() {
+        commit(MARCH, "85.00");
+
+        assertThat(published).isEmpty();
+        verify(budgetRepository, never()).findBudgetSpend(anyCollection(), anyInt());
+
+        tracker.loadPending();
+
+        verify(budgetRepository, times(1)).findBudgetSpend(anyCollection(), anyInt());
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent).containsExactly(80);
+        assertThat(tracker.snapshot(PROFILE).get(CATEGORY)).isEqualTo(new BudgetTracker.Usage(100_00, 85_00));
+
+        tracker.loadPending(); // nothing queued any more
+        verify(budgetRepository, times(1)).findBudgetSpend(anyCollection(), anyInt());
+    }
+
+    @Test
+    void trackedWritesAddWithoutQueryingAndPublishEachThresholdOnce() {
+        track(MARCH, "0.00");
+
+        commit(MARCH, "50.00");
+        assertThat(published).isEmpty();
+        commit(MARCH, "30.00");
+        commit(MARCH, "5.00");
+        commit(MARCH, "15.00");
+        commit(MARCH, "40.00");
+        commit(MARCH, "-90.00"); // a deletion doesn't re-arm the alerts
+        commit(MARCH, "90.00");
+
+        verify(budgetRepository, never()).findBudgetSpend(anyCollection(), anyInt());
+        assertThat(tracker.snapshot(PROFILE).get(CATEGORY).spentCents()).isEqualTo(140_00);
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent, BudgetThresholdCrossedEvent::spentCents)
+                .containsExactly(tuple(80, 80_00L), tuple(100, 100_00L));
+    }
+
+    @Test
+    void oneWritePastBothThresholdsPublishesBoth() {
+        track(MARCH, "10.00");
+
+        commit(MARCH, "120.00");
+
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent).containsExactly(80, 100);
+    }
+
+    @Test
+    void writesInOtherCurrenciesAreConverted() {
+        track(MARCH, "0.00");
+
+        tracker.onSpendingRecorded(event(PROFILE, MARCH, "MWK", "144500.00")); // 85.00 USD
+
+        assertThat(tracker.snapshot(PROFILE).get(CATEGORY).spentCents()).isEqualTo(85_00);
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent).containsExactly(80);
+    }
+
+    @Test
+    void reconcileKeepsWhatWasPublished() {
+        track(MARCH, "85.00");
+        assertThat(published).hasSize(1);
+
+        tracker.reconcile();
+        assertThat(published).hasSize(1);
+
+        // spending on another node only shows up through the database
+        spent.put(key(PROFILE, MARCH), new BigDecimal("130.00"));
+        tracker.reconcile();
+        tracker.reconcile();
+
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent).containsExactly(80, 100);
+        assertThat(tracker.snapshot(PROFILE).get(CATEGORY).spentCents()).isEqualTo(130_00);
+    }
+
+    @Test
+    void aChangedLimitIsAlertedAgain() {
+        track(MARCH, "85.00");
+
+        limits.put(PROFILE, new BigDecimal("80.00"));
+        tracker.reconcile();
+
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent, BudgetThresholdCrossedEvent::limitCents)
+                .containsExactly(tuple(80, 100_00L), tuple(80, 80_00L), tuple(100, 80_00L));
+    }
+
+    @Test
+    void aReloadIsDeduplicatedByTheAlertTable() {
+        Set<String> alerted = ConcurrentHashMap.newKeySet();
+        when(budgetRepository.recordAlert(anyLong(), anyLong(), anyInt(), anyInt())).thenAnswer(invocation ->
+                alerted.add(invocation.getArgument(0) + "/" + invocation.getArgument(1) + "/"
+                        + invocation.getArgument(2) + "/" + invocation.getArgument(3)) ? 1 : 0);
+        ProfileRepository profileRepository = mock(ProfileRepository.class);
+        when(profileRepository.findEmailById(PROFILE)).thenReturn(Optional.of("user1@example.com"));
+        EmailOutboxService emailOutboxService = mock(EmailOutboxService.class);
+        BudgetAlertService alertService = new BudgetAlertService(budgetRepository, profileRepository,
+                mock(CategoryRepository.class), emailOutboxService, new SimpleMeterRegistry());
+
+        track(MARCH, "120.00");
+        tracker.evict(PROFILE); // a budget write, or the idle timeout
+        tracker.snapshot(PROFILE);
+        commit(MARCH, "10.00");
+        tracker.reconcile();
+
+        // the fresh state publishes again; tbl_budget_alerts turns that into one email per threshold
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent).containsExactly(80, 100, 80, 100);
+        published.forEach(alertService::onThresholdCrossed);
+        verify(emailOutboxService).enqueue(eq("user1@example.com"), eq("You've used 80% of your a category budget"), anyString());
+        verify(emailOutboxService).enqueue(eq("user1@example.com"), eq("You've used 100% of your a category budget"), anyString());
+        verify(emailOutboxService, times(2)).enqueue(any(), any(), any());
+    }
+
+    @Test
+    void concurrentWritesPublishEachThresholdOnce() throws Exception {
+        track(MARCH, "0.00");
+        int threads = 8;
+        int writesPerThread = 25; // 200.00 in 1.00 steps against a 100.00 limit
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writesPerThread; i++) {
+                        tracker.onSpendingRecorded(event(PROFILE, MARCH, "USD", "1.00"));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(tracker.snapshot(PROFILE).get(CATEGORY).spentCents()).isEqualTo(200_00);
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::thresholdPercent).containsExactlyInAnyOrder(80, 100);
+    }
+
+    @Test
+    void aNewMonthStartsAgainWithoutAQueryOnTheWrite() {
+        track(MARCH, "90.00");
+
+        tracker.clock = clockAt(APRIL);
+        commit(APRIL, "85.00");
+        commit(MARCH, "5.00"); // a late entry for last month doesn't touch this month's totals
+
+        verify(budgetRepository, never()).findBudgetSpend(anyCollection(), anyInt());
+        tracker.loadPending();
+
+        verify(budgetRepository).findBudgetSpend(List.of(PROFILE), 202504);
+        assertThat(published).extracting(BudgetThresholdCrossedEvent::periodMonth, BudgetThresholdCrossedEvent::thresholdPercent)
+                .containsExactly(tuple(202503, 80), tuple(202504, 80));
+        assertThat(tracker.snapshot(PROFILE).get(CATEGORY).spentCents()).isEqualTo(85_00);
+    }
+
+    @Test
+    void profilesWithoutBudgetsAreTrackedToo() {
+        commit(2L, MARCH, "50.00");
+        tracker.loadPending();
+        commit(2L, MARCH, "50.00");
+        tracker.loadPending();
+
+        verify(budgetRepository, times(1)).findBudgetSpend(anyCollection(), anyInt());
+        assertThat(tracker.snapshot(2L)).isEmpty();
+        assertThat(published).isEmpty();
+    }
+
+    /** Starts tracking the profile with the given committed spending; the load's query is forgotten. */
+    private void track(LocalDate day, String amount) {
+        spent.put(key(PROFILE, day), new BigDecimal(amount));
+        tracker.snapshot(PROFILE);
+        clearInvocations(budgetRepository);
+    }
+
+    private void commit(LocalDate day, String amount) {
+        commit(PROFILE, day, amount);
+    }
+
+    /** Commits an expense, then delivers its event, as a write does. */
+    private void commit(Long profileId, LocalDate day, String amount) {
+        spent.merge(key(profileId, day), new BigDecimal(amount), BigDecimal::add);
+        tracker.onSpendingRecorded(event(profileId, day, "USD", amount));
+    }
+
+    private static SpendingRecordedEvent event(Long profileId, LocalDate day, String currency, String amount) {
+        return new SpendingRecordedEvent(Map.of(profileId, List.of(new SpendingRecordedEvent.Change(
+                MonthlySummaryService.periodOf(day), CATEGORY, currency, new BigDecimal(amount)))));
+    }
+
+    private List<BudgetSpend> rows(Collection<Long> profileIds, int period) {
+        List<BudgetSpend> rows = new ArrayList<>();
+        for (Long profileId : profileIds) {
+            BigDecimal limit = limits.get(profileId);
+            if (limit != null) {
+                rows.add(new Row(profileId, CATEGORY, limit, "USD", "USD", spent.get(profileId + "/" + period)));
+            }
+        }
+        return rows;
+    }
+
+    private static String key(Long profileId, LocalDate day) {
+        return profileId + "/" + MonthlySummaryService.periodOf(day);
+    }
+
+    private static Clock clockAt(LocalDate day) {
+        return Clock.fixed(day.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    private record Row(Long profileId, Long categoryId, BigDecimal amount, String baseCurrency, String currency,
+                       BigDecimal spent) implements BudgetSpend {
+
+        @Override
+        public Long getProfileId() {
+            return profileId;
+        }
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        @Override
+        public String getBaseCurrency() {
+            return baseCurrency;
+        }
+
+        @Override
+        public String getCurrency() {
+            return currency;
+        }
+
+        @Override
+        public BigDecimal getSpent() {
+            return spent;
+        }
+    }
+}
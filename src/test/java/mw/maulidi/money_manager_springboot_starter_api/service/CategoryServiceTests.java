@@ -0,0 +1,112 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository.CategoryVersion;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import mw.maulidi.money_manager_springboot_starter_api.service.CategoryService.CategoryListing;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryServiceTests {
+
+    private static final Long PROFILE = 42L;
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 3, 1, 9, 30, 15, 123456000);
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+
+    @Test
+    void cachedReadsDoNotQuery() {
+        CategoryService categoryService = categoryService(Duration.ofMinutes(1));
+        when(categoryRepository.findByProfile_Id(PROFILE)).thenReturn(List.of(category(1L, "Groceries", UPDATED)));
+
+        CategoryListing first = categoryService.getCategoriesForProfile(PROFILE);
+        CategoryListing second = categoryService.getCategoriesForProfile(PROFILE);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.version()).isEqualTo("1@" + UPDATED);
+        verify(categoryRepository, times(1)).findByProfile_Id(PROFILE);
+        verify(categoryRepository, never()).findVersionByProfileId(PROFILE);
+    }
+
+    @Test
+    void evictReloadsOnTheNextRead() {
+        CategoryService categoryService = categoryService(Duration.ofMinutes(1));
+        when(categoryRepository.findByProfile_Id(PROFILE))
+                .thenReturn(List.of(category(1L, "Groceries", UPDATED)))
+                .thenReturn(List.of(category(1L, "Groceries", UPDATED), category(2L, "Rent", UPDATED.plusDays(1))));
+
+        CategoryListing before = categoryService.getCategoriesForProfile(PROFILE);
+        categoryService.evict(PROFILE);
+        CategoryListing after = categoryService.getCategoriesForProfile(PROFILE);
+
+        assertThat(after.categories()).hasSize(2);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    void dueEntriesAreRecheckedAgainstTheVersionInTheBackground() throws Exception {
+        CategoryService categoryService = categoryService(Duration.ofMillis(50));
+        when(categoryRepository.findByProfile_Id(PROFILE)).thenReturn(List.of(category(1L, "Groceries", UPDATED)));
+        CategoryVersion unchanged = version(1, UPDATED); // stubbed before, not inside, the when() below
+        when(categoryRepository.findVersionByProfileId(PROFILE)).thenReturn(unchanged);
+        CategoryListing cached = categoryService.getCategoriesForProfile(PROFILE);
+
+        Thread.sleep(100);
+        assertThat(categoryService.getCategoriesForProfile(PROFILE)).isSameAs(cached);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(categoryRepository).findVersionByProfileId(PROFILE));
+
+        // unchanged: the list itself isn't read again
+        assertThat(categoryService.getCategoriesForProfile(PROFILE)).isSameAs(cached);
+        verify(categoryRepository, times(1)).findByProfile_Id(PROFILE);
+    }
+
+    @Test
+    void aWriteOnAnotherNodeIsPickedUpByTheRecheck() throws Exception {
+        CategoryService categoryService = categoryService(Duration.ofMillis(50));
+        when(categoryRepository.findByProfile_Id(PROFILE))
+                .thenReturn(List.of(category(1L, "Groceries", UPDATED)))
+                .thenReturn(List.of(category(1L, "Food", UPDATED.plusMinutes(1))));
+        CategoryVersion changed = version(1, UPDATED.plusMinutes(1));
+        when(categoryRepository.findVersionByProfileId(PROFILE)).thenReturn(changed);
+        categoryService.getCategoriesForProfile(PROFILE);
+
+        Thread.sleep(100);
+        categoryService.getCategoriesForProfile(PROFILE); // starts the re-check
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(categoryService.getCategoriesForProfile(PROFILE).categories())
+                        .singleElement()
+                        .satisfies(category -> assertThat(category.getName()).isEqualTo("Food")));
+    }
+
+    private CategoryService categoryService(Duration recheckInterval) {
+        return new CategoryService(categoryRepository, mock(CurrentProfile.class), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(10), recheckInterval);
+    }
+
+    private static CategoryEntity category(Long id, String name, LocalDateTime updatedAt) {
+        return CategoryEntity.builder().id(id).name(name).type("EXPENSE").updatedAt(updatedAt).build();
+    }
+
+    private static CategoryVersion version(long count, LocalDateTime lastUpdated) {
+        CategoryVersion version = mock(CategoryVersion.class);
+        when(version.getCount()).thenReturn(count);
+        when(version.getLastUpdated()).thenReturn(lastUpdated);
+        return version;
+    }
+}
@@ -0,0 +1,203 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxStatus;
+import mw.maulidi.money_manager_springboot_starter_api.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTests {
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final FakeMailSender mailSender = new FakeMailSender();
+    private EmailOutboxDispatcher dispatcher;
+    private int openTransactions;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            openTransactions++;
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> openTransactions--).when(transactionManager).commit(any());
+
+        EmailService emailService = new EmailService(mailSender, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@example.com");
+
+        dispatcher = new EmailOutboxDispatcher(repository, emailService, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofHours(1));
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void sendsTheBatchAndMarksItSent() {
+        List<EmailOutboxEntity> batch = due(email(1L, "a@example.com", 0), email(2L, "b@example.com", 0));
+
+        dispatcher.dispatch();
+
+        assertThat(mailSender.sent).containsExactlyInAnyOrder("a@example.com", "b@example.com");
+        assertThat(batch).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+            assertThat(email.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void sendsBetweenTheClaimAndTheRecordingTransactions() {
+        due(email(1L, "a@example.com", 0));
+        mailSender.onSend = () -> assertThat(openTransactions).isZero();
+
+        dispatcher.dispatch();
+
+        InOrder order = inOrder(transactionManager, repository);
+        order.verify(repository).findDueForDispatch(eq(EmailOutboxStatus.PENDING), any(), any());
+        order.verify(transactionManager).commit(any());
+        order.verify(repository).findAllById(anyIterable());
+        order.verify(transactionManager).commit(any());
+        assertThat(mailSender.sent).containsExactly("a@example.com");
+    }
+
+    @Test
+    void leasesClaimedRowsBeforeSending() {
+        EmailOutboxEntity email = email(1L, "a@example.com", 0);
+        due(email);
+        mailSender.onSend = () -> assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now().plusMinutes(4));
+
+        dispatcher.dispatch();
+
+        assertThat(mailSender.sent).containsExactly("a@example.com");
+    }
+
+    @Test
+    void retriesOnlyTheMessagesThatFailed() {
+        EmailOutboxEntity ok = email(1L, "a@example.com", 0);
+        EmailOutboxEntity bounced = email(2L, "b@example.com", 0);
+        due(ok, bounced);
+        mailSender.failing = Set.of("b@example.com");
+
+        dispatcher.dispatch();
+
+        assertThat(ok.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(bounced.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getLastError()).isEqualTo("mailbox unavailable");
+        // first retry after the initial backoff, not after the lease
+        assertThat(bounced.getNextAttemptAt()).isBefore(LocalDateTime.now().plusMinutes(1));
+    }
+
+    @Test
+    void deadLettersAfterMaxAttempts() {
+        EmailOutboxEntity email = email(1L, "b@example.com", 2);
+        due(email);
+        mailSender.failing = Set.of("b@example.com");
+
+        dispatcher.dispatch();
+
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(email.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void failsTheWholeBatchWhenTheRelayIsDown() {
+        List<EmailOutboxEntity> batch = due(email(1L, "a@example.com", 0), email(2L, "b@example.com", 0));
+        mailSender.down = true;
+
+        dispatcher.dispatch();
+
+        assertThat(batch).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getLastError()).isEqualTo("authentication failed");
+        });
+    }
+
+    private List<EmailOutboxEntity> due(EmailOutboxEntity... emails) {
+        List<EmailOutboxEntity> batch = List.of(emails);
+        when(repository.findDueForDispatch(eq(EmailOutboxStatus.PENDING), any(), any())).thenReturn(batch);
+        when(repository.findAllById(anyIterable())).thenReturn(batch);
+        return batch;
+    }
+
+    private static EmailOutboxEntity email(Long id, String recipient, int attempts) {
+        return EmailOutboxEntity.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Activate your account")
+                .body("<p>hi</p>")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    /**
+     * Records recipients instead of talking SMTP; can bounce chosen recipients or fail the whole connection.
+     */
+    private static class FakeMailSender extends JavaMailSenderImpl {
+
+        private final List<String> sent = new ArrayList<>();
+        private Set<String> failing = Set.of();
+        private boolean down;
+        private Runnable onSend = () -> { };
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            onSend.run();
+            if (down) {
+                throw new MailAuthenticationException("authentication failed");
+            }
+            Map<Object, Exception> failures = new HashMap<>();
+            for (MimeMessage message : mimeMessages) {
+                String recipient = recipient(message);
+                if (failing.contains(recipient)) {
+                    failures.put(message, new MessagingException("mailbox unavailable"));
+                } else {
+                    sent.add(recipient);
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new MailSendException(failures);
+            }
+        }
+
+        private static String recipient(MimeMessage message) {
+            try {
+                return message.getAllRecipients()[0].toString();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.EmailOutboxStatus;
+import mw.maulidi.money_manager_springboot_starter_api.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs {@link EmailOutboxPurgeJob} against an embedded H2 database in MySQL mode, with the schema
+ * generated from the entities (see UnactivatedProfilePurgeJobTests). Not transactional: each chunk
+ * commits on its own, as it does in production.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxpurge;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxPurgeJobTests {
+
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // a pass-through mock, so the tests can count the chunk selects
+        repository = mock(EmailOutboxRepository.class, delegatesTo(emailOutboxRepository));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deletesOldSentAndDeadEmailsInChunks() {
+        LocalDateTime old = LocalDateTime.now().minus(RETENTION).minusHours(1);
+        for (int i = 0; i < 3; i++) {
+            save(EmailOutboxStatus.SENT, old.minusMinutes(i));
+            save(EmailOutboxStatus.DEAD, old.minusMinutes(i));
+        }
+        Long recentlySent = save(EmailOutboxStatus.SENT, LocalDateTime.now().minusDays(1));
+        Long recentlyDead = save(EmailOutboxStatus.DEAD, LocalDateTime.now().minusDays(1));
+
+        job(4).purge();
+
+        assertThat(emailOutboxRepository.findAll()).extracting(EmailOutboxEntity::getId)
+                .containsExactlyInAnyOrder(recentlySent, recentlyDead);
+        // 4 + 2: the short chunk ends the run
+        verify(repository, times(2)).findFinishedBefore(any(), any(), any());
+    }
+
+    @Test
+    void keepsPendingEmailsHoweverOld() {
+        LocalDateTime old = LocalDateTime.now().minus(RETENTION).minusDays(30);
+        Long pending = save(EmailOutboxStatus.PENDING, old);
+        save(EmailOutboxStatus.SENT, old);
+
+        job(10).purge();
+
+        assertThat(emailOutboxRepository.findAll()).singleElement()
+                .satisfies(email -> assertThat(email.getId()).isEqualTo(pending));
+    }
+
+    @Test
+    void aFullLastChunkCostsOneEmptySelect() {
+        LocalDateTime old = LocalDateTime.now().minus(RETENTION).minusHours(1);
+        for (int i = 0; i < 4; i++) {
+            save(EmailOutboxStatus.SENT, old);
+        }
+
+        job(2).purge();
+
+        assertThat(emailOutboxRepository.count()).isZero();
+        verify(repository, times(3)).findFinishedBefore(any(), any(), any());
+    }
+
+    private EmailOutboxPurgeJob job(int chunkSize) {
+        EmailOutboxPurgeJob job = new EmailOutboxPurgeJob(repository, transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "retention", RETENTION);
+        ReflectionTestUtils.setField(job, "chunkSize", chunkSize);
+        return job;
+    }
+
+    private Long save(EmailOutboxStatus status, LocalDateTime lastAttempt) {
+        return emailOutboxRepository.save(EmailOutboxEntity.builder()
+                .recipient("someone@example.com")
+                .subject("Activate your Account")
+                .body("<p>Hello</p>")
+                .status(status)
+                .attempts(1)
+                .nextAttemptAt(lastAttempt)
+                .build()).getId();
+    }
+}
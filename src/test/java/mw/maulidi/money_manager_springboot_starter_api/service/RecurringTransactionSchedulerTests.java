@@ -0,0 +1,216 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.CategoryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.MonthlySummaryEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurrenceFrequency;
+import mw.maulidi.money_manager_springboot_starter_api.entity.RecurringRuleEntity;
+import mw.maulidi.money_manager_springboot_starter_api.entity.TransactionEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.CategoryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.MonthlySummaryRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.RecurringRuleRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.TransactionRepository;
+import mw.maulidi.money_manager_springboot_starter_api.utils.FxRateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link RecurringTransactionScheduler#materializeDue(LocalDate)} against an embedded H2 database
+ * in MySQL mode. The schema is generated from the entities: V2, V5 and V7 use MySQL-only DDL
+ * (information_schema lookups, enum columns, FULLTEXT indexes) that H2 can't run.
+ *
+ * Not transactional: each run commits its own chunks, as it does in production, and concurrent
+ * runs must see each other's commits.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recurring;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.recurring.chunk-size=5",
+        "app.recurring.max-catch-up=10"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RecurringTransactionScheduler.class, TransactionBatchWriter.class, MonthlySummaryService.class,
+        BaseCurrencyCache.class, FxRateTable.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RecurringTransactionSchedulerTests {
+
+    private static final int MAX_CATCH_UP = 10;
+
+    @Autowired
+    private RecurringTransactionScheduler scheduler;
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    private ProfileEntity profile;
+    private CategoryEntity category;
+
+    @BeforeEach
+    void setUp() {
+        profile = profileRepository.save(ProfileEntity.builder()
+                .fullName("Recurring Test")
+                .email("recurring@example.com")
+                .password("x")
+                .isActive(true)
+                .tokenVersion(0)
+                .baseCurrency("USD")
+                .build());
+        category = categoryRepository.save(CategoryEntity.builder()
+                .name("Rent")
+                .type("EXPENSE")
+                .profile(profile)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        monthlySummaryRepository.deleteAllInBatch();
+        recurringRuleRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        profileRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void secondRunPostsNothing() {
+        LocalDate today = LocalDate.of(2024, 5, 31);
+        RecurringRuleEntity rule = saveRule("Rent", RecurrenceFrequency.MONTHLY, LocalDate.of(2024, 1, 31));
+
+        assertThat(scheduler.materializeDue(today)).isEqualTo(5);
+        assertThat(scheduler.materializeDue(today)).isZero();
+
+        assertThat(transactionRepository.count()).isEqualTo(5);
+        assertThat(summaryCount()).isEqualTo(5);
+        RecurringRuleEntity advanced = recurringRuleRepository.findById(rule.getId()).orElseThrow();
+        assertThat(advanced.getOccurrenceCount()).isEqualTo(5);
+        assertThat(advanced.getNextRunDate()).isEqualTo(LocalDate.of(2024, 6, 30));
+    }
+
+    @Test
+    void monthEndRuleDoesNotDrift() {
+        saveRule("Rent", RecurrenceFrequency.MONTHLY, LocalDate.of(2024, 1, 31));
+
+        scheduler.materializeDue(LocalDate.of(2024, 5, 31));
+
+        // counted from the start date: February's 29th doesn't pull March back to the 29th
+        assertThat(transactionRepository.findAll().stream().map(TransactionEntity::getDate).sorted())
+                .containsExactly(
+                        LocalDate.of(2024, 1, 31),
+                        LocalDate.of(2024, 2, 29),
+                        LocalDate.of(2024, 3, 31),
+                        LocalDate.of(2024, 4, 30),
+                        LocalDate.of(2024, 5, 31));
+    }
+
+    @Test
+    void catchUpIsCappedPerRulePerClaim() {
+        LocalDate today = LocalDate.of(2024, 3, 30);
+        RecurringRuleEntity rule = saveRule("Coffee", RecurrenceFrequency.DAILY, today.minusDays(29));
+
+        assertThat(scheduler.materializeDue(today)).isEqualTo(MAX_CATCH_UP);
+        RecurringRuleEntity advanced = recurringRuleRepository.findById(rule.getId()).orElseThrow();
+        assertThat(advanced.getNextRunDate()).isEqualTo(today.minusDays(29 - MAX_CATCH_UP));
+
+        // the rest is picked up by the following runs
+        assertThat(scheduler.materializeDue(today)).isEqualTo(MAX_CATCH_UP);
+        assertThat(scheduler.materializeDue(today)).isEqualTo(MAX_CATCH_UP);
+        assertThat(scheduler.materializeDue(today)).isZero();
+        assertThat(transactionRepository.count()).isEqualTo(30);
+    }
+
+    @Test
+    void concurrentRunsPostEachOccurrenceOnce() throws Exception {
+        LocalDate today = LocalDate.of(2024, 3, 30);
+        // more rules than one chunk, so both runs claim chunks while the other holds locks
+        IntStream.range(0, 20).forEach(i ->
+                saveRule("Rule " + i, RecurrenceFrequency.DAILY, today.minusDays(3)));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> runs = IntStream.range(0, 2)
+                    .mapToObj(i -> pool.submit(() -> {
+                        start.await();
+                        return scheduler.materializeDue(today);
+                    }))
+                    .toList();
+            start.countDown();
+            int posted = 0;
+            for (Future<Integer> run : runs) {
+                posted += run.get();
+            }
+            assertThat(posted).isEqualTo(80);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<TransactionEntity> transactions = transactionRepository.findAll();
+        assertThat(transactions).hasSize(80);
+        assertThat(transactions.stream().map(t -> t.getName() + "@" + t.getDate()).distinct()).hasSize(80);
+        assertThat(summaryCount()).isEqualTo(80);
+        assertThat(scheduler.materializeDue(today)).isZero();
+    }
+
+    private RecurringRuleEntity saveRule(String name, RecurrenceFrequency frequency, LocalDate startDate) {
+        return recurringRuleRepository.save(RecurringRuleEntity.builder()
+                .profileId(profile.getId())
+                .categoryId(category.getId())
+                .name(name)
+                .type("EXPENSE")
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .frequency(frequency)
+                .intervalCount(1)
+                .startDate(startDate)
+                .nextRunDate(startDate)
+                .occurrenceCount(0)
+                .active(true)
+                .build());
+    }
+
+    private long summaryCount() {
+        return monthlySummaryRepository.findAll().stream().mapToLong(MonthlySummaryEntity::getTxCount).sum();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
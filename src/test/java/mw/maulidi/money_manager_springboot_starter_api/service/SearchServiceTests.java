@@ -0,0 +1,99 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import mw.maulidi.money_manager_springboot_starter_api.dto.KeysetPageDTO;
+import mw.maulidi.money_manager_springboot_starter_api.dto.SearchResultDTO;
+import mw.maulidi.money_manager_springboot_starter_api.repository.SearchRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.SearchRepository.SearchHit;
+import mw.maulidi.money_manager_springboot_starter_api.security.CurrentProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTests {
+
+    private final SearchRepository searchRepository = mock(SearchRepository.class);
+    private final CurrentProfile currentProfile = mock(CurrentProfile.class);
+    private final SearchService searchService = new SearchService(searchRepository, currentProfile);
+
+    @BeforeEach
+    void setUp() {
+        when(currentProfile.getId()).thenReturn(42L);
+        when(searchRepository.search(eq(42L), anyString(), anyInt(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void everyWordBecomesARequiredPrefixWithinTheProfile() {
+        searchService.search("Groceries, Super-Save", null, null);
+
+        verify(searchRepository).search(42L, "+profile42 +groceries* +super* +save*",
+                SearchService.DEFAULT_PAGE_SIZE + 1, 0);
+    }
+
+    @Test
+    void booleanOperatorsInTheInputAreSeparators() {
+        searchService.search("+rent* -(bills) \"water\"", null, null);
+
+        verify(searchRepository).search(42L, "+profile42 +rent* +bills* +water*",
+                SearchService.DEFAULT_PAGE_SIZE + 1, 0);
+    }
+
+    @Test
+    void wordsShorterThanTheMinimumAreRejected() {
+        assertThatThrownBy(() -> searchService.search("groceries ab", null, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> searchService.search(" ,; ", null, null))
+                .isInstanceOf(ResponseStatusException.class);
+
+        verifyNoInteractions(searchRepository);
+    }
+
+    @Test
+    void theExtraRowSignalsAnotherPage() {
+        List<SearchHit> hits = List.of(hit(1L), hit(2L), hit(3L)); // stubbed before, not inside, the when() below
+        when(searchRepository.search(eq(42L), anyString(), eq(3), eq(0))).thenReturn(hits);
+
+        KeysetPageDTO<SearchResultDTO> page = searchService.search("groceries", null, 2);
+
+        assertThat(page.getItems()).extracting(SearchResultDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo("2");
+    }
+
+    @Test
+    void pagesStopAtTheResultCap() {
+        KeysetPageDTO<SearchResultDTO> page = searchService.search("groceries",
+                String.valueOf(SearchService.MAX_RESULTS), null);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        verifyNoInteractions(searchRepository);
+    }
+
+    @Test
+    void invalidCursorsAreABadRequest() {
+        assertThatThrownBy(() -> searchService.search("groceries", "abc", null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    private static SearchHit hit(Long id) {
+        SearchHit hit = mock(SearchHit.class);
+        when(hit.getId()).thenReturn(id);
+        when(hit.getKind()).thenReturn("TRANSACTION");
+        return hit;
+    }
+}
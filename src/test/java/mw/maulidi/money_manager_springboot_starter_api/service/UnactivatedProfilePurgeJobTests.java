@@ -0,0 +1,146 @@
+package mw.maulidi.money_manager_springboot_starter_api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository;
+import mw.maulidi.money_manager_springboot_starter_api.repository.ProfileRepository.StaleProfile;
+import mw.maulidi.money_manager_springboot_starter_api.security.PrincipalCache;
+import mw.maulidi.money_manager_springboot_starter_api.utils.ActivationTokenUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs {@link UnactivatedProfilePurgeJob} against an embedded H2 database in MySQL mode, with the schema
+ * generated from the entities (see RecurringTransactionSchedulerTests). Not transactional: each chunk
+ * commits on its own, as it does in production.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:purge;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UnactivatedProfilePurgeJobTests {
+
+    private static final Duration TTL = Duration.ofHours(48);
+
+    @Autowired
+    private ProfileRepository profileRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+
+    private ProfileRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // a pass-through mock, so a test can act between the chunk's select and its delete
+        repository = mock(ProfileRepository.class, delegatesTo(profileRepository));
+    }
+
+    @AfterEach
+    void tearDown() {
+        profileRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deletesExpiredUnactivatedProfilesInChunks() {
+        LocalDateTime expired = LocalDateTime.now().minus(TTL).minusHours(1);
+        for (int i = 0; i < 5; i++) {
+            save("stale" + i + "@example.com", false, expired.minusMinutes(i));
+        }
+        Long fresh = save("fresh@example.com", false, LocalDateTime.now().minusHours(1));
+        Long active = save("active@example.com", true, expired);
+
+        job(2).purge();
+
+        assertThat(profileRepository.findAll()).extracting(ProfileEntity::getId).containsExactlyInAnyOrder(fresh, active);
+        // 2 + 2 + 1: the short chunk ends the run
+        verify(repository, times(3)).findStaleUnactivated(any(), any());
+        for (int i = 0; i < 5; i++) {
+            verify(principalCache).evict("stale" + i + "@example.com");
+        }
+    }
+
+    @Test
+    void aFullLastChunkCostsOneEmptySelect() {
+        LocalDateTime expired = LocalDateTime.now().minus(TTL).minusHours(1);
+        for (int i = 0; i < 4; i++) {
+            save("stale" + i + "@example.com", false, expired);
+        }
+
+        job(2).purge();
+
+        assertThat(profileRepository.count()).isZero();
+        verify(repository, times(3)).findStaleUnactivated(any(), any());
+    }
+
+    @Test
+    void profilesActivatedAfterTheSelectAreKept() {
+        LocalDateTime expired = LocalDateTime.now().minus(TTL).minusHours(1);
+        Long activatedMeanwhile = save("late@example.com", false, expired.minusMinutes(1));
+        save("stale@example.com", false, expired);
+        doAnswer(invocation -> {
+            List<StaleProfile> chunk = profileRepository.findStaleUnactivated(invocation.getArgument(0), invocation.getArgument(1));
+            profileRepository.activateById(activatedMeanwhile); // the user clicks the link just in time
+            return chunk;
+        }).when(repository).findStaleUnactivated(any(), any());
+
+        job(10).purge();
+
+        assertThat(profileRepository.findAll()).singleElement().satisfies(profile -> {
+            assertThat(profile.getId()).isEqualTo(activatedMeanwhile);
+            assertThat(profile.getIsActive()).isTrue();
+        });
+    }
+
+    private UnactivatedProfilePurgeJob job(int chunkSize) {
+        UnactivatedProfilePurgeJob job = new UnactivatedProfilePurgeJob(repository, principalCache,
+                new ActivationTokenUtil("test-only-activation-secret-0123456789", TTL),
+                transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(job, "chunkSize", chunkSize);
+        return job;
+    }
+
+    private Long save(String email, boolean active, LocalDateTime createdAt) {
+        Long id = profileRepository.save(ProfileEntity.builder()
+                .fullName("Purge Test")
+                .email(email)
+                .password("x")
+                .isActive(active)
+                .tokenVersion(0)
+                .baseCurrency("USD")
+                .build()).getId();
+        // created_at is set by Hibernate and not updatable through the entity
+        jdbcTemplate.update("update tbl_profile set created_at = ? where id = ?", createdAt, id);
+        return id;
+    }
+}
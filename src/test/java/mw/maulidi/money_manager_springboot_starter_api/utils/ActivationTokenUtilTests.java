@@ -0,0 +1,104 @@
+package mw.maulidi.money_manager_springboot_starter_api.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivationTokenUtilTests {
+
+    private static final String SECRET = "test-only-activation-secret-0123456789";
+
+    private final ActivationTokenUtil activationTokenUtil = new ActivationTokenUtil(SECRET, Duration.ofHours(48));
+
+    @Test
+    void roundTrips() {
+        String token = activationTokenUtil.generate(42L);
+
+        assertThat(token).matches("42\\.\\d+\\.[A-Za-z0-9_-]{43}");
+        assertThat(activationTokenUtil.verify(token)).contains(42L);
+    }
+
+    @Test
+    void expiresAfterTheTtl() {
+        String token = activationTokenUtil.generate(42L);
+        long expiresAt = Long.parseLong(token.split("\\.")[1]);
+
+        assertThat(expiresAt - Instant.now().getEpochSecond()).isBetween(48 * 3600L - 5, 48 * 3600L);
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        ActivationTokenUtil expired = new ActivationTokenUtil(SECRET, Duration.ofSeconds(-1));
+
+        assertThat(activationTokenUtil.verify(expired.generate(42L))).isEmpty();
+        assertThat(expired.verify(sign("42." + (Instant.now().getEpochSecond() + 60)))).contains(42L);
+    }
+
+    @Test
+    void changingTheIdOrTheExpiryBreaksTheSignature() {
+        String[] parts = activationTokenUtil.generate(42L).split("\\.");
+
+        assertThat(activationTokenUtil.verify("43." + parts[1] + "." + parts[2])).isEmpty();
+        assertThat(activationTokenUtil.verify(parts[0] + "." + (Long.parseLong(parts[1]) + 3600) + "." + parts[2])).isEmpty();
+        assertThat(activationTokenUtil.verify(parts[0] + "." + parts[1] + "." + parts[2].substring(1) + "A")).isEmpty();
+    }
+
+    @Test
+    void tokensSignedWithAnotherSecretAreRejected() {
+        ActivationTokenUtil other = new ActivationTokenUtil("another-activation-secret-0123456789", Duration.ofHours(48));
+
+        assertThat(activationTokenUtil.verify(other.generate(42L))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"abc", ".", "..", "42", "42.", ".123.sig", "42.123", "42.123.", "42.123.not-a-signature"})
+    void garbageIsRejected(String token) {
+        assertThat(activationTokenUtil.verify(token)).isEmpty();
+    }
+
+    @Test
+    void correctlySignedButNonNumericPayloadsAreRejected() {
+        assertThat(activationTokenUtil.verify(sign("abc.99999999999"))).isEmpty();
+        assertThat(activationTokenUtil.verify(sign("42.soon"))).isEmpty();
+        assertThat(activationTokenUtil.verify(sign("42.1.99999999999"))).isEmpty();
+    }
+
+    @Test
+    void overLongTokensAreRejectedBeforeParsing() {
+        String padded = "0".repeat(100) + "42." + (Instant.now().getEpochSecond() + 60);
+
+        assertThat(sign(padded)).hasSizeGreaterThan(128);
+        assertThat(activationTokenUtil.verify(sign(padded))).isEmpty();
+    }
+
+    @Test
+    void shortSecretsAreRefused() {
+        assertThatThrownBy(() -> new ActivationTokenUtil("too-short", Duration.ofHours(48)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("at least 32 bytes");
+    }
+
+    /** Signs the payload independently of the class under test. */
+    private static String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package mw.maulidi.money_manager_springboot_starter_api.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FxRateTableTests {
+
+    private static final String RATES = """
+            # units per 1 USD
+            date,currency,rate
+            2024-01-01,MWK,1700.000000
+            2024-01-01,EUR,0.920000
+            2024-01-03,EUR,0.930000
+            """;
+
+    @Test
+    void mulDivRoundsHalfAwayFromZero() {
+        assertThat(FxRateTable.mulDiv(5, 1, 2)).isEqualTo(3);
+        assertThat(FxRateTable.mulDiv(-5, 1, 2)).isEqualTo(-3);
+        assertThat(FxRateTable.mulDiv(4, 1, 3)).isEqualTo(1);
+        assertThat(FxRateTable.mulDiv(-4, 1, 3)).isEqualTo(-1);
+        assertThat(FxRateTable.mulDiv(7, 3, 4)).isEqualTo(5);
+        assertThat(FxRateTable.mulDiv(0, 123, 7)).isZero();
+    }
+
+    @Test
+    void mulDivFallsBackToBigIntegerWhenTheProductOverflows() {
+        long a = 10_000_000_000_000L; // a * b overflows, a * b / c does not
+        long b = 1_700_000_000L;
+        long c = 920_000L;
+
+        assertThat(FxRateTable.mulDiv(a, b, c)).isEqualTo(exact(a, b, c));
+        assertThat(FxRateTable.mulDiv(-a, b, c)).isEqualTo(exact(-a, b, c));
+    }
+
+    @Test
+    void mulDivFailsWhenTheResultDoesNotFitALong() {
+        assertThatThrownBy(() -> FxRateTable.mulDiv(Long.MAX_VALUE, 1_000_000L, 1))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void convertsMinorUnitsThroughThePivot() throws Exception {
+        FxRateTable table = table();
+        int usd = table.indexOf("USD");
+        int mwk = table.indexOf("MWK");
+        int eur = table.indexOf("EUR");
+        LocalDate day = LocalDate.of(2024, 1, 1);
+
+        assertThat(table.convert(100_00, usd, mwk, day)).isEqualTo(170_000_00);
+        assertThat(table.convert(170_000_00, mwk, usd, day)).isEqualTo(100_00);
+        assertThat(table.convert(92_00, eur, usd, day)).isEqualTo(100_00);
+        assertThat(table.convert(1, eur, mwk, day)).isEqualTo(1848); // 1700 / 0.92 = 1847.83
+    }
+
+    @Test
+    void gapsAndDatesOutsideTheQuotesReuseTheNearestEarlierQuote() throws Exception {
+        FxRateTable table = table();
+        int usd = table.indexOf("USD");
+        int eur = table.indexOf("EUR");
+
+        assertThat(table.convert(100_00, usd, eur, LocalDate.of(2023, 6, 1))).isEqualTo(92_00);
+        assertThat(table.convert(100_00, usd, eur, LocalDate.of(2024, 1, 2))).isEqualTo(92_00);
+        assertThat(table.convert(100_00, usd, eur, LocalDate.of(2024, 1, 3))).isEqualTo(93_00);
+        assertThat(table.convert(100_00, usd, eur, LocalDate.of(2030, 1, 1))).isEqualTo(93_00);
+    }
+
+    @Test
+    void unknownCurrenciesAreRejected() throws Exception {
+        FxRateTable table = table();
+
+        assertThat(table.isSupported("ZAR")).isFalse();
+        assertThatThrownBy(() -> table.indexOf("ZAR")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static FxRateTable table() throws Exception {
+        return new FxRateTable(new ByteArrayResource(RATES.getBytes(StandardCharsets.UTF_8)), "USD");
+    }
+
+    private static long exact(long a, long b, long c) {
+        return new BigDecimal(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)))
+                .divide(BigDecimal.valueOf(c), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
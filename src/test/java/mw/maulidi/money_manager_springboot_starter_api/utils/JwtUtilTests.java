@@ -0,0 +1,43 @@
+package mw.maulidi.money_manager_springboot_starter_api.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import mw.maulidi.money_manager_springboot_starter_api.entity.ProfileEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+
+    private final JwtUtil jwtUtil = new JwtUtil("test-only-jwt-signing-secret-0123456789", new SimpleMeterRegistry());
+
+    @Test
+    void roundTripsTheProfileClaims() {
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(ProfileEntity.builder()
+                .Id(42L)
+                .email("user42@example.com")
+                .tokenVersion(3)
+                .build()));
+
+        assertThat(claims.getSubject()).isEqualTo("user42@example.com");
+        assertThat(claims.get(JwtUtil.PROFILE_ID_CLAIM, Long.class)).isEqualTo(42L);
+        assertThat(claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void tokensSignedWithAnotherKeyAreRejected() {
+        JwtUtil other = new JwtUtil("another-jwt-signing-secret-0123456789", new SimpleMeterRegistry());
+        String forged = other.generateToken("user42@example.com");
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shortSecretsAreRefused() {
+        assertThatThrownBy(() -> new JwtUtil("too-short", new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("at least 32 bytes");
+    }
+}